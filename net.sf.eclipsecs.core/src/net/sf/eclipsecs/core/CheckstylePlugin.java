@@ -26,10 +26,14 @@ import java.util.logging.Logger;
 
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IRegistryEventListener;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Plugin;
 import org.osgi.framework.BundleContext;
 
+import net.sf.eclipsecs.core.builder.CheckerFactory;
 import net.sf.eclipsecs.core.util.CheckstyleLog;
 import net.sf.eclipsecs.core.util.EclipseLogHandler;
 import net.sf.eclipsecs.core.util.ExtensionClassLoader;
@@ -56,6 +60,9 @@ public class CheckstylePlugin extends Plugin {
     /** The addon extension class loader. */
     private ClassLoader mAddonExtensionClassLoader;
 
+    /** Recreates the addon extension class loader when addon providers come or go. */
+    private final IRegistryEventListener mAddonProviderListener = new AddonProviderListener();
+
     /**
      * The constructor.
      */
@@ -69,6 +76,8 @@ public class CheckstylePlugin extends Plugin {
 
         mAddonExtensionClassLoader =
             new ExtensionClassLoader(context.getBundle(), ADDON_PROVIDER_EXT_PT_ID);
+        Platform.getExtensionRegistry().addListener(mAddonProviderListener,
+            ADDON_PROVIDER_EXT_PT_ID);
 
         try {
             final Logger checkstyleErrorLog =
@@ -82,6 +91,12 @@ public class CheckstylePlugin extends Plugin {
         }
     }
 
+    @Override
+    public void stop(BundleContext context) throws Exception {
+        Platform.getExtensionRegistry().removeListener(mAddonProviderListener);
+        super.stop(context);
+    }
+
     /**
      * Returns the shared instance.
      *
@@ -130,4 +145,40 @@ public class CheckstylePlugin extends Plugin {
     public ClassLoader getAddonExtensionClassLoader() {
         return mAddonExtensionClassLoader;
     }
+
+    /**
+     * Recreates the addon extension class loader and discards the checkers built with the old one
+     * if addon providers are installed or uninstalled.
+     */
+    private void addonProvidersChanged() {
+        mAddonExtensionClassLoader =
+            new ExtensionClassLoader(getBundle(), ADDON_PROVIDER_EXT_PT_ID);
+        CheckerFactory.cleanup();
+    }
+
+    /**
+     * Listens for changes of the addon provider extensions.
+     */
+    private final class AddonProviderListener implements IRegistryEventListener {
+
+        @Override
+        public void added(IExtension[] extensions) {
+            addonProvidersChanged();
+        }
+
+        @Override
+        public void added(IExtensionPoint[] extensionPoints) {
+            // only the extensions are of interest
+        }
+
+        @Override
+        public void removed(IExtension[] extensions) {
+            addonProvidersChanged();
+        }
+
+        @Override
+        public void removed(IExtensionPoint[] extensionPoints) {
+            // only the extensions are of interest
+        }
+    }
 }
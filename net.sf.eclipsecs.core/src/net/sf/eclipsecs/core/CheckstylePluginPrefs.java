@@ -62,9 +62,85 @@ public class CheckstylePluginPrefs extends AbstractPreferenceInitializer {
      */
     public static final String PREF_BACKGROUND_FULL_BUILD = "background.full.build";
 
+    /**
+     * Preference name for the number of parallel Checkstyle workers used to audit the files of a
+     * single check configuration. A value of <code>1</code> disables parallel audits. The workers
+     * check the files in separate batches, so checks working on several files at once only see the
+     * files of one batch. The workers of all running audits together are limited to the number of
+     * processors.
+     */
+    public static final String PREF_AUDIT_PARALLELISM = "audit.parallelism";
+
+    /**
+     * Preference name for the maximum number of audit jobs running concurrently in the workspace. A
+     * value of <code>0</code> uses the number of available processors.
+     */
+    public static final String PREF_AUDIT_CONCURRENCY = "audit.concurrency";
+
+    /**
+     * Preference name for the preference to cache audit results of unchanged files across builds
+     * and workspace restarts.
+     */
+    public static final String PREF_AUDIT_RESULT_CACHE = "audit.result.cache";
+
+    /**
+     * Preference name for the preference to measure the time spent in the Checkstyle modules.
+     */
+    public static final String PREF_AUDIT_TIMINGS = "audit.timings";
+
+    /**
+     * Preference name for the preference to create the checkers of the Checkstyle enabled projects
+     * in the background after startup.
+     */
+    public static final String PREF_PREWARM_CHECKERS = "prewarm.checkers";
+
+    /**
+     * Preference name for the maximum number of configurations kept in the checker cache. Each
+     * cached configuration keeps a pool of up to {@link #PREF_CHECKER_POOL_SIZE} idle checkers.
+     */
+    public static final String PREF_CHECKER_CACHE_SIZE = "checker.cache.size";
+
+    /**
+     * Preference name for the number of minutes the checkers of an unused configuration are kept
+     * in the checker cache. A value of <code>0</code> keeps them until they are evicted due to the
+     * size limit.
+     */
+    public static final String PREF_CHECKER_CACHE_EXPIRY = "checker.cache.expiry";
+
+    /**
+     * Preference name for the number of idle checkers kept per cached configuration. Concurrent
+     * audits of the same configuration use checkers of their own, checkers beyond this number are
+     * discarded when their audit finishes.
+     */
+    public static final String PREF_CHECKER_POOL_SIZE = "checker.pool.size";
+
+    /**
+     * Preference name for the number of milliseconds requests to check single files are collected
+     * before the collected files are checked in one audit per project.
+     */
+    public static final String PREF_AUDIT_COALESCING_DELAY = "audit.coalescing.delay";
+
     /** Default value for the marker limitation. */
     public static final int MARKER_LIMIT = 100;
 
+    /** Default value for the audit parallelism. */
+    public static final int AUDIT_PARALLELISM = 1;
+
+    /** Default value for the audit concurrency, the number of available processors. */
+    public static final int AUDIT_CONCURRENCY = 0;
+
+    /** Default value for the checker cache size. */
+    public static final int CHECKER_CACHE_SIZE = 20;
+
+    /** Default value for the checker cache expiry in minutes. */
+    public static final int CHECKER_CACHE_EXPIRY = 30;
+
+    /** Default value for the checker pool size. */
+    public static final int CHECKER_POOL_SIZE = 2;
+
+    /** Default value for the audit coalescing delay in milliseconds. */
+    public static final int AUDIT_COALESCING_DELAY = 300;
+
     /**
      * Preference checkstyle rule language.
      */
@@ -79,6 +155,15 @@ public class CheckstylePluginPrefs extends AbstractPreferenceInitializer {
         prefs.putBoolean(PREF_LIMIT_MARKERS_PER_RESOURCE, false);
         prefs.putInt(PREF_MARKER_AMOUNT_LIMIT, MARKER_LIMIT);
         prefs.putBoolean(PREF_BACKGROUND_FULL_BUILD, false);
+        prefs.putInt(PREF_AUDIT_PARALLELISM, AUDIT_PARALLELISM);
+        prefs.putInt(PREF_AUDIT_CONCURRENCY, AUDIT_CONCURRENCY);
+        prefs.putBoolean(PREF_AUDIT_RESULT_CACHE, false);
+        prefs.putBoolean(PREF_AUDIT_TIMINGS, false);
+        prefs.putBoolean(PREF_PREWARM_CHECKERS, false);
+        prefs.putInt(PREF_CHECKER_CACHE_SIZE, CHECKER_CACHE_SIZE);
+        prefs.putInt(PREF_CHECKER_CACHE_EXPIRY, CHECKER_CACHE_EXPIRY);
+        prefs.putInt(PREF_CHECKER_POOL_SIZE, CHECKER_POOL_SIZE);
+        prefs.putInt(PREF_AUDIT_COALESCING_DELAY, AUDIT_COALESCING_DELAY);
 
         try {
             prefs.flush();
@@ -36,12 +36,18 @@ public final class Messages extends NLS {
 
     public static String Auditor_msgMsgCheckstyleInternalError;
 
+    public static String AuditScheduler_msgQueued;
+
+    public static String AuditScheduler_name;
+
     public static String AuditorJob_msgBuildProject;
 
     public static String BuildProjectJob_msgBuildAllProjects;
 
     public static String BuildProjectJob_msgBuildProject;
 
+    public static String CheckerCacheStatistics_msgSummary;
+
     public static String CheckstyleBuilder_msgWrongBuilderOrder;
 
     public static String ConfigPropertyMetadata_txtNoDescription;
@@ -94,10 +100,14 @@ public final class Messages extends NLS {
 
     public static String RemoteConfigurationType_msgRemoteCachingFailed;
 
+    public static String RemoteConfigurationType_msgRemoteFetchFailed;
+
     public static String RemoteConfigurationType_msgUnAuthorized;
 
     public static String PartsOpenedJob_title;
 
+    public static String PrewarmCheckersJob_name;
+
     public static String TransformCheckstyleRulesJob_name;
 
     public static String TransformFormatterRulesJob_name;
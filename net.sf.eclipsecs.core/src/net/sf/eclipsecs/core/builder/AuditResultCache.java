@@ -0,0 +1,450 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import net.sf.eclipsecs.core.CheckstylePlugin;
+import net.sf.eclipsecs.core.CheckstylePluginPrefs;
+import net.sf.eclipsecs.core.config.ICheckConfiguration;
+import net.sf.eclipsecs.core.util.CheckstyleLog;
+import net.sf.eclipsecs.core.util.CheckstylePluginException;
+
+/**
+ * Persistent cache of audit results of a project. For every audited file and check configuration
+ * the violations are stored together with a digest of the file content and the effective check
+ * configuration, so unchanged files need not be run through the checker again. Files audited by
+ * several check configurations have an entry per configuration. The caches are stored in the
+ * plugin state location and survive workspace restarts, entries unused for a while are dropped.
+ */
+final class AuditResultCache {
+
+    /** Version of the cache file format, caches of other versions are discarded. */
+    private static final int FORMAT_VERSION = 5;
+
+    /** The time after which unused entries are dropped, e.g. entries of changed configurations. */
+    private static final Duration ENTRY_EXPIRY = Duration.ofDays(30);
+
+    /** The minimum time between recording uses of an entry. */
+    private static final Duration USE_RECORDING_INTERVAL = Duration.ofDays(1);
+
+    /** Name of the cache directory within the plugin state location. */
+    private static final String CACHE_DIRECTORY = "audit-cache";
+
+    /** The loaded caches by project name. */
+    private static final Cache<String, AuditResultCache> CACHES =
+        CacheBuilder.newBuilder().softValues().build();
+
+    /** The project of this cache. */
+    private final IProject mProject;
+
+    /** The file the cache is stored in. */
+    private final File mCacheFile;
+
+    /** The cache entries by project relative file path and configuration digest. */
+    private final Map<String, Map<String, Entry>> mEntries = new HashMap<>();
+
+    /** Flags if the cache has unsaved changes. */
+    private boolean mDirty;
+
+    AuditResultCache(IProject project, File cacheFile) {
+        mProject = project;
+        mCacheFile = cacheFile;
+    }
+
+    /**
+     * Returns the result cache of the given project, loading it from the plugin state location if
+     * necessary.
+     *
+     * @param project
+     *            the project
+     * @return the result cache of the project
+     */
+    static synchronized AuditResultCache getCache(IProject project) {
+        AuditResultCache cache = CACHES.getIfPresent(project.getName());
+        if (cache == null) {
+            final File cacheDir =
+                CheckstylePlugin.getDefault().getStateLocation().append(CACHE_DIRECTORY).toFile();
+            cache = new AuditResultCache(project, new File(cacheDir, project.getName()));
+            cache.load();
+            CACHES.put(project.getName(), cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Discards all cached audit results, including the persisted ones.
+     */
+    static synchronized void cleanup() {
+        CACHES.invalidateAll();
+
+        final File[] cacheFiles = CheckstylePlugin.getDefault().getStateLocation()
+            .append(CACHE_DIRECTORY).toFile().listFiles();
+        if (cacheFiles != null) {
+            for (File cacheFile : cacheFiles) {
+                try {
+                    Files.deleteIfExists(cacheFile.toPath());
+                }
+                catch (IOException ex) {
+                    CheckstyleLog.log(ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes a digest of everything besides the file content that influences the audit result
+     * of a file: the content key of the checkers, which covers the configuration with its resolved
+     * properties, the charset and the locale, the external resources read by the checkers, the
+     * marker related preferences and the plugin version. The configuration is only parsed again if
+     * its modification stamp changed.
+     *
+     * @param config
+     *            the check configuration
+     * @param project
+     *            the audited project
+     * @return the configuration digest or <code>null</code> if the audit results cannot be cached,
+     *         because the checkers read external resources which are no local files
+     * @throws CheckstyleException
+     *             the configuration had errors
+     * @throws CheckstylePluginException
+     *             the configuration could not be read
+     */
+    static byte[] getConfigurationDigest(ICheckConfiguration config, IProject project)
+            throws CheckstyleException, CheckstylePluginException {
+        final CheckerPool checkers = CheckerFactory.getCheckerPool(config, project);
+        final MessageDigest digest = createDigest();
+        update(digest, checkers.getContentKey().toString());
+
+        // the external resources are identified by their modification time and size, like the
+        // configuration itself
+        boolean cacheable = true;
+        for (String location : new TreeSet<>(checkers.getExternalResourceLocations())) {
+            final File file = getLocalFile(location);
+            if (file != null) {
+                update(digest, location);
+                update(digest, file.lastModified() + ":" + file.length());
+            }
+            else {
+                cacheable = false;
+            }
+        }
+
+        update(digest, CheckstylePlugin.getDefault().getBundle().getVersion().toString());
+        for (String pref : List.of(CheckstylePluginPrefs.PREF_INCLUDE_RULE_NAMES,
+            CheckstylePluginPrefs.PREF_INCLUDE_MODULE_IDS,
+            CheckstylePluginPrefs.PREF_LIMIT_MARKERS_PER_RESOURCE,
+            CheckstylePluginPrefs.PREF_MARKER_AMOUNT_LIMIT)) {
+            update(digest, CheckstylePluginPrefs.getString(pref));
+        }
+        return cacheable ? digest.digest() : null;
+    }
+
+    /**
+     * Returns the local file of an external resource location, which is either a file path or a
+     * file URI.
+     *
+     * @param location
+     *            the location of the external resource
+     * @return the file or <code>null</code> if the resource is no local file
+     */
+    private static File getLocalFile(String location) {
+        File file = new File(location);
+        if (!file.isAbsolute()) {
+            try {
+                final URI uri = new URI(location);
+                if ("file".equals(uri.getScheme())) {
+                    file = new File(uri);
+                }
+                else if (uri.getScheme() != null) {
+                    file = null;
+                }
+            }
+            catch (URISyntaxException | IllegalArgumentException ex) {
+                // no valid URI, so the location is a relative file path
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Returns the key of a check configuration's entries in the cache.
+     *
+     * @param configDigest
+     *            the digest of the check configuration
+     * @return the configuration key
+     */
+    static String getConfigurationKey(byte[] configDigest) {
+        return HexFormat.of().formatHex(configDigest);
+    }
+
+    /**
+     * Computes the cache digest of a file.
+     *
+     * @param configDigest
+     *            the digest of the check configuration
+     * @param file
+     *            the file
+     * @return the digest of the file or <code>null</code> if the file could not be read
+     */
+    static String getFileDigest(byte[] configDigest, IFile file) {
+        final MessageDigest digest = createDigest();
+        digest.update(configDigest);
+        String result = null;
+        try {
+            digest.update(Files.readAllBytes(file.getLocation().toFile().toPath()));
+            result = HexFormat.of().formatHex(digest.digest());
+        }
+        catch (IOException ex) {
+            // the file is audited without caching, the checker reports the problem
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cached violations of a file.
+     *
+     * @param file
+     *            the file
+     * @param configKey
+     *            the key of the check configuration
+     * @param digest
+     *            the current digest of the file
+     * @return the cached violations or <code>null</code> if there is no cached
+     *         result for the current digest
+     */
+    synchronized List<Violation> get(IFile file, String configKey, String digest) {
+        final Map<String, Entry> entries = mEntries.get(file.getProjectRelativePath().toString());
+        final Entry entry = entries != null ? entries.get(configKey) : null;
+        List<Violation> violations = null;
+        if (entry != null && entry.digest().equals(digest)) {
+            violations = entry.violations();
+            if (isDue(entry.lastUsed())) {
+                // remember the use, so the entry does not expire
+                entries.put(configKey, new Entry(digest, violations, System.currentTimeMillis()));
+                mDirty = true;
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Stores the violations of an audited file.
+     *
+     * @param file
+     *            the file
+     * @param configKey
+     *            the key of the check configuration
+     * @param digest
+     *            the digest of the file
+     * @param violations
+     *            the violations of the file
+     */
+    synchronized void put(IFile file, String configKey, String digest,
+        List<Violation> violations) {
+        mEntries.computeIfAbsent(file.getProjectRelativePath().toString(), key -> new HashMap<>())
+            .put(configKey,
+                new Entry(digest, List.copyOf(violations), System.currentTimeMillis()));
+        mDirty = true;
+    }
+
+    /**
+     * Removes the cached result of a file.
+     *
+     * @param file
+     *            the file
+     * @param configKey
+     *            the key of the check configuration
+     */
+    synchronized void remove(IFile file, String configKey) {
+        final String path = file.getProjectRelativePath().toString();
+        final Map<String, Entry> entries = mEntries.get(path);
+        if (entries != null && entries.remove(configKey) != null) {
+            if (entries.isEmpty()) {
+                mEntries.remove(path);
+            }
+            mDirty = true;
+        }
+    }
+
+    /**
+     * Writes the cache to the plugin state location if it has been changed. Entries of files which
+     * no longer exist are dropped.
+     */
+    synchronized void store() {
+        if (mDirty) {
+            removeStaleEntries();
+            write();
+        }
+    }
+
+    private void removeStaleEntries() {
+        final Iterator<Map.Entry<String, Map<String, Entry>>> paths =
+            mEntries.entrySet().iterator();
+        while (paths.hasNext()) {
+            final Map.Entry<String, Map<String, Entry>> path = paths.next();
+            path.getValue().values().removeIf(entry -> isExpired(entry.lastUsed()));
+            if (path.getValue().isEmpty() || !mProject.getFile(path.getKey()).exists()) {
+                paths.remove();
+            }
+        }
+    }
+
+    private static boolean isExpired(long lastUsed) {
+        return System.currentTimeMillis() - lastUsed > ENTRY_EXPIRY.toMillis();
+    }
+
+    /**
+     * Checks if the last use of an entry should be updated. Uses are only recorded once in a
+     * while, so restoring cached results does not make the cache dirty on every build.
+     *
+     * @param lastUsed
+     *            the time of the last use
+     * @return <code>true</code> if the use should be recorded
+     */
+    private static boolean isDue(long lastUsed) {
+        return System.currentTimeMillis() - lastUsed > USE_RECORDING_INTERVAL.toMillis();
+    }
+
+    private void write() {
+        mCacheFile.getParentFile().mkdirs();
+        try (DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(mCacheFile.toPath())))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(mEntries.size());
+            for (Map.Entry<String, Map<String, Entry>> path : mEntries.entrySet()) {
+                out.writeUTF(path.getKey());
+                out.writeInt(path.getValue().size());
+                for (Map.Entry<String, Entry> entry : path.getValue().entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeUTF(entry.getValue().digest());
+                    out.writeLong(entry.getValue().lastUsed());
+                    writeViolations(out, entry.getValue().violations());
+                }
+            }
+            mDirty = false;
+        }
+        catch (IOException ex) {
+            CheckstyleLog.log(ex);
+        }
+    }
+
+    private void load() {
+        if (mCacheFile.isFile()) {
+            try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(mCacheFile.toPath())))) {
+                if (in.readInt() == FORMAT_VERSION) {
+                    final int pathCount = in.readInt();
+                    for (int i = 0; i < pathCount; i++) {
+                        mEntries.put(in.readUTF(), readEntries(in));
+                    }
+                }
+            }
+            catch (IOException ex) {
+                // a corrupt cache is simply rebuilt
+                mEntries.clear();
+                CheckstyleLog.log(ex);
+            }
+        }
+    }
+
+    private static Map<String, Entry> readEntries(DataInputStream input) throws IOException {
+        final int count = input.readInt();
+        final Map<String, Entry> entries = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            final String configKey = input.readUTF();
+            final String digest = input.readUTF();
+            final long lastUsed = input.readLong();
+            entries.put(configKey, new Entry(digest, readViolations(input), lastUsed));
+        }
+        return entries;
+    }
+
+    private static void writeViolations(DataOutputStream out, List<Violation> violations)
+            throws IOException {
+        out.writeInt(violations.size());
+        for (Violation violation : violations) {
+            violation.write(out);
+        }
+    }
+
+    private static List<Violation> readViolations(DataInputStream input) throws IOException {
+        final int count = input.readInt();
+        final List<Violation> violations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            violations.add(Violation.read(input));
+        }
+        return violations;
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException ex) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Cached audit result of a file.
+     *
+     * @param digest
+     *            the digest of the file content and the effective configuration
+     * @param violations
+     *            the violations of the file
+     * @param lastUsed
+     *            the time the entry was last stored or restored
+     */
+    private record Entry(String digest, List<Violation> violations, long lastUsed) {
+    }
+}
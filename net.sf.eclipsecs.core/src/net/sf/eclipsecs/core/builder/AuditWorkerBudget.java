@@ -0,0 +1,70 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Workspace wide budget of parallel audit workers. Concurrent builds and audits each open worker
+ * threads of their own, so the number of workers is bounded by the number of processors across
+ * all audits. An audit takes as many workers as are available, down to none, and returns them
+ * when it is done.
+ */
+final class AuditWorkerBudget {
+
+    /** The workers available to audits. */
+    private static final Semaphore WORKERS =
+        new Semaphore(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Hidden utility class constructor.
+     */
+    private AuditWorkerBudget() {
+        // noop
+    }
+
+    /**
+     * Takes up to the given number of workers from the budget without waiting.
+     *
+     * @param wanted
+     *            the number of workers wanted
+     * @return the number of workers granted, possibly <code>0</code>
+     */
+    static int acquire(int wanted) {
+        int granted = 0;
+        while (granted < wanted && WORKERS.tryAcquire()) {
+            granted++;
+        }
+        return granted;
+    }
+
+    /**
+     * Returns workers to the budget.
+     *
+     * @param count
+     *            the number of workers granted by {@link #acquire(int)}
+     */
+    static void release(int count) {
+        if (count > 0) {
+            WORKERS.release(count);
+        }
+    }
+}
@@ -24,13 +24,20 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.codehaus.plexus.util.StringUtils;
-import org.eclipse.core.filebuffers.FileBuffers;
-import org.eclipse.core.filebuffers.ITextFileBufferManager;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
@@ -38,18 +45,15 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
-import org.eclipse.jface.text.BadLocationException;
-import org.eclipse.jface.text.IDocument;
-import org.eclipse.jface.text.IRegion;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.osgi.util.NLS;
 
-import com.puppycrawl.tools.checkstyle.Checker;
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.AuditListener;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
 import net.sf.eclipsecs.core.CheckstylePluginPrefs;
 import net.sf.eclipsecs.core.Messages;
@@ -57,6 +61,7 @@ import net.sf.eclipsecs.core.config.ICheckConfiguration;
 import net.sf.eclipsecs.core.config.Module;
 import net.sf.eclipsecs.core.config.meta.MetadataFactory;
 import net.sf.eclipsecs.core.config.meta.RuleMetadata;
+import net.sf.eclipsecs.core.projectconfig.filters.UnOpenedFilesFilter;
 import net.sf.eclipsecs.core.util.CheckstyleLog;
 import net.sf.eclipsecs.core.util.CheckstylePluginException;
 
@@ -68,15 +73,51 @@ public final class Auditor {
     /** The interval for updating the task info. */
     private static final int MONITOR_INTERVAL = 10;
 
+    /** The check configurations whose failure in content audits has been logged. */
+    private static final Set<ICheckConfiguration> FAILED_CONTENT_AUDITS =
+        ConcurrentHashMap.newKeySet();
+
+    /** The number of files handed to a parallel audit worker at a time. */
+    private static final int PARALLEL_BATCH_SIZE = 50;
+
     /** The check configuration the auditor uses. */
     private final ICheckConfiguration mCheckConfiguration;
 
     /** Map containing the file resources to audit. */
     private final Map<String, IFile> mFiles = new HashMap<>();
 
-    /** Reference to the file buffer manager. */
-    private final ITextFileBufferManager mFileBufferManager =
-        FileBuffers.getTextFileBufferManager();
+    /** The files whose markers of a preceding audit must be kept. */
+    private final Set<IFile> mFilesKeepingMarkers = new HashSet<>();
+
+    /** The folders of the audited files whose markers are reconciled by this audit. */
+    private final Set<IResource> mReconciledFolders = new HashSet<>();
+
+    /** The markers reported on folders, written once the audit is done. */
+    private final Map<IResource, List<Violation>> mFolderMarkers = new HashMap<>();
+
+    /** The files which have been reported by the checker during the audit. */
+    private final Set<IFile> mReportedFiles = ConcurrentHashMap.newKeySet();
+
+    /** The files whose markers have been restored from the result cache. */
+    private final Set<IFile> mCachedFiles = new HashSet<>();
+
+    /** The result cache digests of the files to audit. */
+    private final Map<IFile, String> mFileDigests = new ConcurrentHashMap<>();
+
+    /** The result cache of the audited project, <code>null</code> if results are not cached. */
+    private AuditResultCache mResultCache;
+
+    /** The key of the check configuration's entries in the result cache. */
+    private String mResultCacheKey;
+
+    /** The marker writing stage of the running audit. */
+    private MarkerWriter mMarkerWriter;
+
+    /** The unsaved content audited instead of the file on disk, <code>null</code> if none. */
+    private String mContent;
+
+    /** Receives the violations of a content audit instead of the marker writer. */
+    private List<Violation> mContentViolations;
 
     /** The progress monitor. */
     private IProgressMonitor mMonitor;
@@ -87,6 +128,12 @@ public final class Auditor {
     /** Add the check module id to the message. */
     private boolean mAddModuleId;
 
+    /** Whether the audit is background work giving way to interactive audits. */
+    private boolean mBackground;
+
+    /** The job running the background audit, <code>null</code> if not run by a job. */
+    private Job mBackgroundJob;
+
     /**
      * Creates an auditor.
      *
@@ -117,53 +164,416 @@ public final class Auditor {
      */
     public void runAudit(IProject project, IProgressMonitor monitor)
             throws CheckstylePluginException {
+        mMarkerWriter = new MarkerWriter();
+        try {
+            if (CheckstylePluginPrefs.getBoolean(CheckstylePluginPrefs.PREF_AUDIT_RESULT_CACHE)) {
+                mResultCache = AuditResultCache.getCache(project);
+                restoreCachedResults(project);
+            }
+
+            final int fileCount = mFiles.size() - mCachedFiles.size();
+            if (fileCount > 0) {
+                mBackgroundJob = mBackground ? Job.getJobManager().currentJob() : null;
+                runAudit(project, monitor, mBackground ? 1 : getParallelism(fileCount));
+            }
+        }
+        finally {
+            // wait for the markers to be written
+            mMarkerWriter.close();
+
+            if (mResultCache != null) {
+                mResultCache.store();
+            }
+        }
+    }
+
+    /**
+     * Runs the audit with the workers granted by the shared worker budget, sequentially on the
+     * current thread if no more than one worker is granted.
+     *
+     * @param project
+     *            the project is needed to build the correct classpath for the checker
+     * @param monitor
+     *            the progress monitor
+     * @param parallelism
+     *            the number of workers wanted
+     * @throws CheckstylePluginException
+     *             error processing the audit
+     */
+    private void runAudit(IProject project, IProgressMonitor monitor, int parallelism)
+            throws CheckstylePluginException {
+        final int workers = parallelism > 1 ? AuditWorkerBudget.acquire(parallelism) : 0;
+        try {
+            if (workers > 1) {
+                runParallelAudit(project, monitor, workers);
+            }
+            else {
+                runSequentialAudit(project, monitor);
+            }
+        }
+        finally {
+            AuditWorkerBudget.release(workers);
+        }
+    }
+
+    /**
+     * Runs the audit on the unsaved content of the single file associated with the auditor. No
+     * markers are written, the violations are returned instead.
+     *
+     * @param project
+     *            the project is needed to build the correct classpath for the checker
+     * @param content
+     *            the content to audit instead of the content of the file on disk
+     * @param monitor
+     *            the progress monitor
+     * @return the marker attributes of the violations found
+     * @throws CheckstylePluginException
+     *             error processing the audit
+     */
+    List<Map<String, Object>> runContentAudit(IProject project, String content,
+        IProgressMonitor monitor) throws CheckstylePluginException {
         mMonitor = monitor;
+        mContent = content;
+        mContentViolations = new ArrayList<>();
 
-        Checker checker = null;
-        CheckstyleAuditListener listener = null;
+        try (CheckerLease lease = CheckerFactory.leaseChecker(mCheckConfiguration, project)) {
+            final ContentChecker checker = (ContentChecker) lease.getChecker();
+            final List<File> files = getFilesList();
+            final CheckstyleAuditListener listener = new CheckstyleAuditListener(project, checker);
+            checker.addListener(listener);
+            try {
+                for (File file : files) {
+                    checker.setContent(file, content);
+                }
+                checker.process(files);
+            }
+            finally {
+                // the checker is returned to the pool, so restore it to check the files on disk
+                checker.clearContent();
+                checker.removeListener(listener);
+            }
+            FAILED_CONTENT_AUDITS.remove(mCheckConfiguration);
+        }
+        catch (CheckstyleException ex) {
+            // content audits run on every change, so a failing configuration is logged once
+            if (!(ex.getCause() instanceof OperationCanceledException)
+                && FAILED_CONTENT_AUDITS.add(mCheckConfiguration)) {
+                CheckstyleLog.log(ex);
+            }
+        }
+        return mContentViolations.stream().map(Violation::toMarkerAttributes).toList();
+    }
+
+    /**
+     * Marks the audit as background work. Background audits give way to running interactive audits
+     * before checking each file. The files are still run through the checker at once, so checks
+     * working on several files see all files of the audit. Background audits run sequentially on
+     * the thread of their job, since only that thread can yield the scheduling rule of the job.
+     *
+     * @param background
+     *            <code>true</code> if the audit is background work
+     */
+    public void setBackground(boolean background) {
+        mBackground = background;
+    }
 
+    /**
+     * Restores the markers of all files whose content and check configuration did not change since
+     * their results have been cached. These files are excluded from the audit. Results are not
+     * cached at all if the configuration cannot be cached or has errors, which the audit reports.
+     *
+     * @param project
+     *            the audited project
+     * @throws CheckstylePluginException
+     *             the check configuration could not be read
+     */
+    private void restoreCachedResults(IProject project) throws CheckstylePluginException {
+        byte[] configDigest = null;
         try {
+            configDigest = AuditResultCache.getConfigurationDigest(mCheckConfiguration, project);
+        }
+        catch (CheckstyleException ex) {
+            // the audit reports the errors of the configuration
+        }
 
-            final List<File> filesToAudit = getFilesList();
+        if (configDigest != null) {
+            mResultCacheKey = AuditResultCache.getConfigurationKey(configDigest);
+            restoreCachedResults(configDigest);
+        }
+        else {
+            mResultCache = null;
+        }
+    }
 
-            // begin task
-            monitor.beginTask(
-                NLS.bind(Messages.Auditor_msgCheckingConfig, mCheckConfiguration.getName()),
-                filesToAudit.size());
+    /**
+     * Restores the markers of all files whose results have been cached for the given check
+     * configuration digest.
+     *
+     * @param configDigest
+     *            the digest of the check configuration
+     */
+    private void restoreCachedResults(byte[] configDigest) {
+        final Set<IResource> restoredFiles = new HashSet<>();
+        final Map<IResource, List<Violation>> markers = new HashMap<>();
+        for (IFile file : mFiles.values()) {
+            final String digest = AuditResultCache.getFileDigest(configDigest, file);
+            final List<Violation> cachedMarkers =
+                digest != null ? mResultCache.get(file, mResultCacheKey, digest) : null;
+            if (cachedMarkers == null) {
+                if (digest != null) {
+                    mFileDigests.put(file, digest);
+                }
+                continue;
+            }
 
-            // create checker
-            checker = CheckerFactory.createChecker(mCheckConfiguration, project);
+            mCachedFiles.add(file);
+            mReportedFiles.add(file);
+            if (!mFilesKeepingMarkers.contains(file)) {
+                restoredFiles.add(file);
+            }
+            markers.put(file, cachedMarkers);
+        }
+        mMarkerWriter.submit(restoredFiles, markers);
+    }
+
+    /**
+     * Runs the audit of all files on a single checker on the current thread.
+     *
+     * @param project
+     *            the project is needed to build the correct classpath for the checker
+     * @param monitor
+     *            the progress monitor
+     * @throws CheckstylePluginException
+     *             error processing the audit
+     */
+    private void runSequentialAudit(IProject project, IProgressMonitor monitor)
+            throws CheckstylePluginException {
+        mMonitor = monitor;
+
+        final List<File> filesToAudit = getFilesList();
+
+        // begin task
+        monitor.beginTask(
+            NLS.bind(Messages.Auditor_msgCheckingConfig, mCheckConfiguration.getName()),
+            filesToAudit.size());
+
+        // lease a checker exclusively used by this audit
+        try (CheckerLease lease = CheckerFactory.leaseChecker(mCheckConfiguration, project)) {
+            final ContentChecker checker = (ContentChecker) lease.getChecker();
 
             // create and add listener
-            listener = new CheckstyleAuditListener(project);
+            final CheckstyleAuditListener listener = new CheckstyleAuditListener(project, checker);
             checker.addListener(listener);
+            try {
+                // run the files through the checker
+                checker.process(filesToAudit);
+            }
+            catch (RuntimeException ex) {
+                listener.cleanup();
+                throw ex;
+            }
+            finally {
+                // Cleanup listener before the checker is returned
+                checker.removeListener(listener);
+            }
 
-            // run the files through the checker
-            checker.process(filesToAudit);
-
+            finishMarkers();
         }
         catch (CheckstyleException ex) {
-            if (ex.getCause() instanceof OperationCanceledException) {
-                // user requested cancellation, keep silent
+            handleCheckstyleException(project, ex);
+        }
+        finally {
+            monitor.done();
+        }
+    }
+
+    /**
+     * Runs the audit with several workers in parallel. The files are split into batches which are
+     * picked up by the workers, each worker uses its own checker and listener since checkers are
+     * not thread-safe. Checks working on several files at once, e.g. the translation check, only
+     * see the files of one batch.
+     *
+     * @param project
+     *            the project is needed to build the correct classpath for the checker
+     * @param monitor
+     *            the progress monitor
+     * @param parallelism
+     *            the number of workers
+     * @throws CheckstylePluginException
+     *             error processing the audit
+     * @throws OperationCanceledException
+     *             the audit was interrupted
+     */
+    private void runParallelAudit(IProject project, IProgressMonitor monitor, int parallelism)
+            throws CheckstylePluginException {
+        mMonitor = new SynchronizedProgressMonitor(monitor);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+            Thread.ofPlatform().name("Checkstyle Audit Worker").daemon().factory());
+        final List<CheckerLease> leases = new ArrayList<>();
+
+        try {
+
+            final List<File> filesToAudit = getFilesList();
+            final Queue<List<File>> batches = new ConcurrentLinkedQueue<>();
+            for (int i = 0; i < filesToAudit.size(); i += PARALLEL_BATCH_SIZE) {
+                batches.add(filesToAudit.subList(i,
+                    Math.min(i + PARALLEL_BATCH_SIZE, filesToAudit.size())));
+            }
+
+            // begin task
+            mMonitor.beginTask(
+                NLS.bind(Messages.Auditor_msgCheckingConfig, mCheckConfiguration.getName()),
+                filesToAudit.size());
+
+            // lease the checkers on this thread, each worker gets a checker of its own
+            final List<Callable<Void>> workers = new ArrayList<>();
+            for (int i = 0; i < parallelism; i++) {
+                final CheckerLease lease =
+                    CheckerFactory.leaseChecker(mCheckConfiguration, project);
+                leases.add(lease);
+                final ContentChecker checker = (ContentChecker) lease.getChecker();
+                workers.add(() -> {
+                    auditBatches(project, checker, batches);
+                    return null;
+                });
+            }
+
+            final CheckstyleException failure = getFirstFailure(executor.invokeAll(workers));
+            if (failure != null) {
+                handleCheckstyleException(project, failure);
             }
             else {
-                handleCheckstyleFailure(project, ex);
+                finishMarkers();
             }
         }
-        catch (RuntimeException ex) {
-            if (listener != null) {
-                listener.cleanup();
+        catch (CheckstyleException ex) {
+            handleCheckstyleException(project, ex);
+        }
+        catch (InterruptedException ex) {
+            // the workers may still use their checkers, so they must not be returned to the pool
+            leases.clear();
+            Thread.currentThread().interrupt();
+            throw new OperationCanceledException();
+        }
+        finally {
+            executor.shutdownNow();
+            leases.forEach(CheckerLease::close);
+            mMonitor.done();
+        }
+    }
+
+    /**
+     * Runs batches of files through the given checker until no batches are left.
+     *
+     * @param project
+     *            the audited project
+     * @param checker
+     *            the checker exclusively used by the calling worker
+     * @param batches
+     *            the batches shared by all workers
+     * @throws CheckstyleException
+     *             error processing a batch
+     */
+    private void auditBatches(IProject project, ContentChecker checker,
+            Queue<List<File>> batches) throws CheckstyleException {
+        final CheckstyleAuditListener listener = new CheckstyleAuditListener(project, checker);
+        checker.addListener(listener);
+        try {
+            for (List<File> batch = batches.poll(); batch != null; batch = batches.poll()) {
+                checker.process(batch);
             }
+        }
+        catch (CheckstyleException | RuntimeException ex) {
+            // let the other workers stop after their current batch
+            batches.clear();
+            listener.cleanup();
             throw ex;
         }
         finally {
-            monitor.done();
+            checker.removeListener(listener);
+        }
+    }
 
-            // Cleanup listener and filter
-            if (checker != null) {
-                checker.removeListener(listener);
+    /**
+     * Collects the results of the finished audit workers.
+     *
+     * @param results
+     *            the worker results
+     * @return the first Checkstyle failure of a worker or <code>null</code> if none failed
+     * @throws InterruptedException
+     *             the thread was interrupted
+     */
+    private static CheckstyleException getFirstFailure(List<Future<Void>> results)
+            throws InterruptedException {
+        CheckstyleException failure = null;
+        for (Future<Void> result : results) {
+            try {
+                result.get();
+            }
+            catch (ExecutionException ex) {
+                final Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                if (failure == null) {
+                    failure = (CheckstyleException) cause;
+                }
             }
         }
+        return failure;
+    }
+
+    private void handleCheckstyleException(IProject project, CheckstyleException error)
+            throws CheckstylePluginException {
+        if (error.getCause() instanceof OperationCanceledException) {
+            // user requested cancellation, keep silent
+        }
+        else {
+            handleCheckstyleFailure(project, error);
+        }
+    }
+
+    /**
+     * Writes the markers which are reconciled once the whole audit is done. These are the markers
+     * of the folders containing audited files, which are reported by checks working on whole
+     * packages, and the markers of audited files the checker did not report at all, e.g. because
+     * their file extension is not handled by the configuration. Markers of reported files are
+     * reconciled by the audit listener.
+     */
+    private void finishMarkers() {
+        final Set<IResource> reconciled = new HashSet<>();
+        for (IFile file : mFiles.values()) {
+            if (!mReportedFiles.contains(file) && !mFilesKeepingMarkers.contains(file)) {
+                reconciled.add(file);
+            }
+            if (!mCachedFiles.contains(file) && mReconciledFolders.contains(file.getParent())) {
+                reconciled.add(file.getParent());
+            }
+        }
+        synchronized (mFolderMarkers) {
+            mMarkerWriter.submit(reconciled, new HashMap<>(mFolderMarkers));
+            mFolderMarkers.clear();
+        }
+    }
+
+    /**
+     * Determines the number of parallel workers wanted for an audit, considering the preference
+     * and the number of files to audit. The workers actually used are limited by the
+     * {@link AuditWorkerBudget} shared by all audits.
+     *
+     * @param fileCount
+     *            the number of files to audit
+     * @return the number of workers, <code>1</code> for a sequential audit
+     */
+    private static int getParallelism(int fileCount) {
+        final int preferred =
+            CheckstylePluginPrefs.getInt(CheckstylePluginPrefs.PREF_AUDIT_PARALLELISM);
+        final int batchCount = (fileCount + PARALLEL_BATCH_SIZE - 1) / PARALLEL_BATCH_SIZE;
+        return Math.max(1, Math.min(preferred, batchCount));
     }
 
     private void handleCheckstyleFailure(IProject project, CheckstyleException error)
@@ -199,10 +609,56 @@ public final class Auditor {
         mFiles.put(file.getLocation().toString(), file);
     }
 
+    /**
+     * Claims the reconciliation of the existing markers for the files of this audit and their
+     * folders. Resources already claimed by an audit of the same build claiming before keep their
+     * markers, so the markers of files belonging to several check configurations add up. This
+     * requires audits sharing resources to run one at a time in the order they claimed their
+     * markers, see {@link #getMarkerResources()}.
+     *
+     * @param claimedResources
+     *            the resources claimed by the preceding audits, the resources of this audit get
+     *            added
+     */
+    public void claimMarkers(Set<IResource> claimedResources) {
+        for (IFile file : mFiles.values()) {
+            if (!claimedResources.add(file)) {
+                mFilesKeepingMarkers.add(file);
+            }
+            if (claimedResources.add(file.getParent())) {
+                mReconciledFolders.add(file.getParent());
+            }
+        }
+    }
+
+    /**
+     * Returns the resources whose markers this audit reconciles or adds to, i.e. the files of the
+     * audit and their folders.
+     *
+     * @return the resources
+     */
+    Set<IResource> getMarkerResources() {
+        final Set<IResource> resources = new HashSet<>();
+        for (IFile file : mFiles.values()) {
+            resources.add(file);
+            resources.add(file.getParent());
+        }
+        return resources;
+    }
+
     public boolean hasFiles() {
         return !mFiles.isEmpty();
     }
 
+    /**
+     * Returns the number of files to audit.
+     *
+     * @return the number of files
+     */
+    int getFileCount() {
+        return mFiles.size();
+    }
+
     /**
      * Get a file resource by the file name.
      *
@@ -220,16 +676,23 @@ public final class Auditor {
      * @return the list of files
      */
     private List<File> getFilesList() {
+        // files opened in editors come first, so their markers are up to date early
+        final List<File> openedFiles = new ArrayList<>();
         final List<File> files = new ArrayList<>();
         for (IFile file : mFiles.values()) {
-            files.add(file.getLocation().toFile());
+            if (!mCachedFiles.contains(file)) {
+                final List<File> list = UnOpenedFilesFilter.isOpened(file) ? openedFiles : files;
+                list.add(file.getLocation().toFile());
+            }
         }
-        return files;
+        openedFiles.addAll(files);
+        return openedFiles;
     }
 
     /**
      * Implementation of the audit listener. This listener creates markers on the file resources if
-     * checkstyle messages are reported.
+     * checkstyle messages are reported. The violations of each checked file are submitted to the
+     * marker writer, which reconciles them with the previous markers of the file.
      *
      */
     private class CheckstyleAuditListener implements AuditListener {
@@ -237,8 +700,11 @@ public final class Auditor {
         /** The project. */
         private final IProject mProject;
 
-        /** Map containing the marker data. */
-        private final Map<String, Object> mMarkerAttributes = new HashMap<>();
+        /** The violations not yet submitted to the marker writer, per resource. */
+        private final Map<IResource, List<Violation>> mPendingMarkers = new LinkedHashMap<>();
+
+        /** The audited files whose previous markers are reconciled with the next submit. */
+        private final List<IResource> mPendingFiles = new ArrayList<>();
 
         /** Flags if the amount of markers should be limited. */
         private final boolean mLimitMarkers;
@@ -249,8 +715,11 @@ public final class Auditor {
         /** The file currently being checked. */
         private IResource mResource;
 
-        /** Document model of the current file. */
-        private IDocument mDocument;
+        /** The checker the listener is added to. */
+        private final ContentChecker mChecker;
+
+        /** Line index of the current file, created when the first violation is reported. */
+        private LineIndex mLineIndex;
 
         /** Internal counter used to time the actualisation of the monitor. */
         private int mMonitorCounter;
@@ -258,13 +727,15 @@ public final class Auditor {
         /** The count of markers generated for the current resource. */
         private int mMarkerCount;
 
-        /**
-         * Keep track which file paths have been connected with the BufferManager.
-         */
-        private Set<IPath> mConnectedFileBufferPaths = new HashSet<>();
+        /** Flags if the current file is reported for the first time within the audit. */
+        private boolean mFirstReport;
 
-        public CheckstyleAuditListener(IProject project) {
+        /** Flags if an exception occurred while checking the current file. */
+        private boolean mFileFailed;
+
+        public CheckstyleAuditListener(IProject project, ContentChecker checker) {
             mProject = project;
+            mChecker = checker;
 
             // init the marker limitation
             mLimitMarkers = CheckstylePluginPrefs
@@ -280,11 +751,25 @@ public final class Auditor {
                 throw new OperationCanceledException();
             }
 
+            // background audits let interactive audits go first, between two files
+            if (mBackground) {
+                InteractiveAuditGate.giveWay(mBackgroundJob, mMarkerWriter, mMonitor);
+            }
+
             // get the current IFile reference
-            mResource = getFile(event.getFileName());
+            final IFile file = getFile(event.getFileName());
+            mResource = file;
             mMarkerCount = 0;
+            mFileFailed = false;
+
+            if (file != null) {
 
-            if (mResource != null) {
+                // reconcile the markers of this file with the next submit, files can be reported
+                // again by checks running on the whole file set
+                mFirstReport = mReportedFiles.add(file);
+                if (mFirstReport && !mFilesKeepingMarkers.contains(file)) {
+                    mPendingFiles.add(file);
+                }
 
                 // begin subtask
                 if (mMonitorCounter == 0) {
@@ -316,64 +801,33 @@ public final class Auditor {
 
         @Override
         public void addError(AuditEvent error) {
-            try {
-                if (!mLimitMarkers || mMarkerCount < mMarkerLimit) {
-
-                    final SeverityLevel severity = error.getSeverityLevel();
-
-                    if (mResource != null && !severity.equals(SeverityLevel.IGNORE)) {
-
-                        RuleMetadata metaData =
-                            MetadataFactory.getRuleMetadata(error.getSourceName());
-
-                        // create generic metadata if none can be found
-                        if (metaData == null) {
-                            final Module module = new Module(error.getSourceName());
-                            metaData = MetadataFactory.createGenericMetadata(module);
-                        }
-
-                        mMarkerAttributes.put(CheckstyleMarker.MODULE_NAME,
-                            metaData.identity().internalName());
-                        mMarkerAttributes.put(CheckstyleMarker.MESSAGE_KEY,
-                            error.getViolation().getKey());
-                        final String moduleId = error.getModuleId();
-                        if (StringUtils.isNotBlank(moduleId)) {
-                            mMarkerAttributes.put(CheckstyleMarker.MODULE_ID, moduleId);
-                        }
-                        mMarkerAttributes.put(IMarker.PRIORITY,
-                            Integer.valueOf(IMarker.PRIORITY_NORMAL));
-                        mMarkerAttributes.put(IMarker.SEVERITY,
-                            Integer.valueOf(getSeverityValue(severity)));
-                        mMarkerAttributes.put(IMarker.LINE_NUMBER,
-                            Integer.valueOf(error.getLine()));
-                        mMarkerAttributes.put(IMarker.MESSAGE, getMessage(error));
-
-                        // calculate offset for editor annotations
-                        calculateMarkerOffset(error, mMarkerAttributes);
-
-                        // enables own category under Java Problem Type
-                        // setting for Problems view (RFE 1530366)
-                        mMarkerAttributes.put("categoryId", CheckstyleMarker.CATEGORY_ID);
-
-                        // create a marker for the actual resource
-                        final IMarker marker = mResource.createMarker(CheckstyleMarker.MARKER_ID);
-                        marker.setAttributes(mMarkerAttributes);
-
-                        mMarkerCount++;
-
-                        // clear the marker attributes to reuse the map for the
-                        // next error
-                        mMarkerAttributes.clear();
+            if (!mLimitMarkers || mMarkerCount < mMarkerLimit) {
+
+                final SeverityLevel severity = error.getSeverityLevel();
+
+                if (mResource != null && !severity.equals(SeverityLevel.IGNORE)) {
+
+                    RuleMetadata metaData =
+                        MetadataFactory.getRuleMetadata(error.getSourceName());
+
+                    // create generic metadata if none can be found
+                    if (metaData == null) {
+                        final Module module = new Module(error.getSourceName());
+                        metaData = MetadataFactory.createGenericMetadata(module);
                     }
+
+                    // queue a marker for the actual resource
+                    mPendingMarkers.computeIfAbsent(mResource, key -> new ArrayList<>())
+                        .add(createViolation(error, metaData.identity().internalName()));
+
+                    mMarkerCount++;
                 }
             }
-            catch (CoreException ex) {
-                CheckstyleLog.log(ex);
-            }
         }
 
         @Override
         public void addException(AuditEvent event, Throwable throwable) {
+            mFileFailed = true;
             CheckstyleLog.log(throwable);
         }
 
@@ -385,8 +839,10 @@ public final class Auditor {
                 mMonitorCounter = 0;
             }
 
-            disconnectFileBuffer(mResource);
-            mDocument = null;
+            mLineIndex = null;
+
+            cacheResult();
+            submitMarkers();
         }
 
         @Override
@@ -400,93 +856,124 @@ public final class Auditor {
 
         public void cleanup() {
 
-            mDocument = null;
+            // write the markers of the files audited so far
+            submitMarkers();
 
-            // disconnect any leftover buffer paths, in case of an unexpected abortion
-            for (IPath p : mConnectedFileBufferPaths) {
-                disconnectFileBuffer(p);
-            }
+            mLineIndex = null;
         }
 
         /**
-         * Calculates the offset information for the editor annotations.
-         *
-         * @param error
-         *            the audit error
-         * @param markerAttributes
-         *            the marker attributes
+         * Stores the markers of the current file in the result cache. Files failing the check or
+         * reported more than once within the audit are not cached, since their result does not
+         * depend on the file content alone.
          */
-        private void calculateMarkerOffset(AuditEvent error, Map<String, Object> markerAttributes) {
-
-            // lazy create the document for the current file
-            if (mDocument == null) {
-                mDocument = connectFileBuffer(mResource);
-            }
-
-            // Provide offset information for the marker to make
-            // annotated source code possible
-            if (mDocument != null) {
-                try {
-
-                    final int line = error.getLine();
-
-                    final IRegion lineInformation =
-                        mDocument.getLineInformation(line == 0 ? 0 : line - 1);
-                    final int lineOffset = lineInformation.getOffset();
-                    final int lineLength = lineInformation.getLength();
-
-                    // annotate from the error column until the end of
-                    // the line
-                    final int offset = error.getViolation().getColumnCharIndex();
-
-                    markerAttributes.put(IMarker.CHAR_START, Integer.valueOf(lineOffset + offset));
-                    markerAttributes.put(IMarker.CHAR_END,
-                        Integer.valueOf(lineOffset + lineLength));
+        private void cacheResult() {
+            if (mResultCache != null && mResource instanceof IFile file) {
+                final String digest = mFileDigests.get(file);
+                if (digest != null && mFirstReport && !mFileFailed) {
+                    mResultCache.put(file, mResultCacheKey, digest,
+                        mPendingMarkers.getOrDefault(file, List.of()));
                 }
-                catch (BadLocationException ex) {
-                    // seems to happen quite often so its no use to log since we
-                    // can't do anything about it
-                    // CheckstyleLog.log(e);
+                else {
+                    mResultCache.remove(file, mResultCacheKey);
                 }
             }
         }
 
-        private IDocument connectFileBuffer(IResource resource) {
-            IDocument document = null;
-            if (resource instanceof IFile) {
-                try {
-                    final IPath path = resource.getFullPath();
-                    mFileBufferManager.connect(path, new NullProgressMonitor());
+        /**
+         * Submits the collected violations of the audited files to the marker writer. Violations
+         * reported on folders are kept until the whole audit is done.
+         */
+        private void submitMarkers() {
+            if (mContentViolations != null) {
+                // content audits only report the violations of the audited file
+                for (Map.Entry<IResource, List<Violation>> entry : mPendingMarkers.entrySet()) {
+                    if (entry.getKey() instanceof IFile) {
+                        mContentViolations.addAll(entry.getValue());
+                    }
+                }
+            }
+            else {
+                submitFileMarkers();
+            }
+            mPendingFiles.clear();
+            mPendingMarkers.clear();
+        }
 
-                    mConnectedFileBufferPaths.add(path);
-                    document = mFileBufferManager.getTextFileBuffer(path).getDocument();
+        private void submitFileMarkers() {
+            final Map<IResource, List<Violation>> fileMarkers = new HashMap<>();
+            for (Map.Entry<IResource, List<Violation>> entry : mPendingMarkers.entrySet()) {
+                if (entry.getKey() instanceof IFile) {
+                    fileMarkers.put(entry.getKey(), entry.getValue());
                 }
-                catch (CoreException ex) {
-                    CheckstyleLog.log(ex);
+                else {
+                    synchronized (mFolderMarkers) {
+                        mFolderMarkers.computeIfAbsent(entry.getKey(), key -> new ArrayList<>())
+                            .addAll(entry.getValue());
+                    }
                 }
             }
-            return document;
+
+            mMarkerWriter.submit(new HashSet<>(mPendingFiles), fileMarkers);
         }
 
-        private void disconnectFileBuffer(IResource resource) {
-            if (resource instanceof IFile) {
-                final IPath path = resource.getFullPath();
-                disconnectFileBuffer(path);
+        /**
+         * Creates the violation record for an audit error, including the offset information for
+         * the editor annotations.
+         *
+         * @param error
+         *            the audit error
+         * @param moduleName
+         *            the internal name of the reporting module
+         * @return the violation
+         */
+        private Violation createViolation(AuditEvent error, String moduleName) {
+
+            // lazy create the line index for the current file
+            if (mLineIndex == null) {
+                mLineIndex = createLineIndex();
             }
-        }
 
-        private void disconnectFileBuffer(IPath path) {
+            // Provide offset information for the marker to make
+            // annotated source code possible
+            Violation.Range range = null;
+            final int line = error.getLine() == 0 ? 0 : error.getLine() - 1;
+            if (mLineIndex != null && line < mLineIndex.getLineCount()) {
+
+                // annotate from the error column until the end of
+                // the line
+                final int lineOffset = mLineIndex.getLineOffset(line);
+                range = new Violation.Range(
+                    lineOffset + error.getViolation().getColumnCharIndex(),
+                    lineOffset + mLineIndex.getLineLength(line));
+            }
 
-            try {
+            final String moduleId =
+                StringUtils.isNotBlank(error.getModuleId()) ? error.getModuleId() : null;
+            return new Violation(moduleName, error.getViolation().getKey(), moduleId,
+                getSeverityValue(error.getSeverityLevel()), error.getLine(), error.getColumn(),
+                getMessage(error), range);
+        }
 
-                if (mConnectedFileBufferPaths.contains(path)) {
-                    mFileBufferManager.disconnect(path, new NullProgressMonitor());
-                    mConnectedFileBufferPaths.remove(path);
-                }
+        /**
+         * Creates the line index of the current file from the text Checkstyle has read, or from
+         * the unsaved content if it is audited.
+         *
+         * @return the line index or <code>null</code> if the file was not read
+         */
+        private LineIndex createLineIndex() {
+            LineIndex lineIndex = null;
+            if (mContent != null) {
+                // the checked text joins the lines with \n, the markers need the editor offsets
+                lineIndex = LineIndex.create(mContent);
             }
-            catch (CoreException ex) {
-                CheckstyleLog.log(ex);
+            else {
+                final FileText text = mChecker.getCheckedText();
+                if (text != null) {
+                    lineIndex = LineIndex.create(text.getFullText());
+                }
             }
+            return lineIndex;
         }
 
         private int getSeverityValue(SeverityLevel severity) {
@@ -0,0 +1,69 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.osgi.util.NLS;
+
+import net.sf.eclipsecs.core.Messages;
+
+/**
+ * Snapshot of the statistics of the checker cache.
+ *
+ * @param size
+ *            the number of cached checker pools
+ * @param hitCount
+ *            the number of times a cached checker was reused
+ * @param missCount
+ *            the number of times no up to date checker was cached
+ * @param loadCount
+ *            the number of checkers created for the cache
+ * @param totalLoadNanos
+ *            the total time spent creating checkers in nanoseconds
+ * @param evictionCount
+ *            the number of checker pools evicted due to the size limit or the idle expiry
+ */
+public record CheckerCacheStatistics(long size, long hitCount, long missCount, long loadCount,
+    long totalLoadNanos, long evictionCount) {
+
+    /**
+     * Returns the average time needed to create a checker.
+     *
+     * @return the average load time in milliseconds
+     */
+    public long averageLoadMillis() {
+        return loadCount > 0 ? TimeUnit.NANOSECONDS.toMillis(totalLoadNanos / loadCount) : 0;
+    }
+
+    /**
+     * Returns a human readable summary of the statistics.
+     *
+     * @return the summary
+     */
+    public String format() {
+        return NLS.bind(Messages.CheckerCacheStatistics_msgSummary, new Object[] {
+            Long.valueOf(size), Long.valueOf(hitCount), Long.valueOf(missCount),
+            Long.valueOf(loadCount), Long.valueOf(averageLoadMillis()),
+            Long.valueOf(evictionCount),
+        });
+    }
+}
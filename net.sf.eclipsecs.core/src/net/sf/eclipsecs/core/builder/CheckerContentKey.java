@@ -0,0 +1,153 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+/**
+ * The content key of a checker. The key covers everything a configured checker depends on: the
+ * loaded configuration with its resolved property values, the charset, the locale and the class
+ * loader the modules are loaded from. Checkers with equal content keys are interchangeable.
+ * <p>
+ * The configuration, charset and locale are represented by a digest, the class loader is kept
+ * itself and compared by identity, since different class loaders load different modules.
+ * </p>
+ */
+final class CheckerContentKey {
+
+    /** The digest algorithm. */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /** The digest of the configuration, charset and locale. */
+    private final String mDigest;
+
+    /** The class loader the modules are loaded from. */
+    private final ClassLoader mModuleClassLoader;
+
+    /**
+     * Creates a content key.
+     *
+     * @param digest
+     *            the digest of the configuration, charset and locale
+     * @param moduleClassLoader
+     *            the class loader the modules are loaded from
+     */
+    private CheckerContentKey(String digest, ClassLoader moduleClassLoader) {
+        mDigest = digest;
+        mModuleClassLoader = moduleClassLoader;
+    }
+
+    /**
+     * Computes the content key of a checker.
+     *
+     * @param configuration
+     *            the loaded configuration
+     * @param charset
+     *            the charset of the checked files
+     * @param locale
+     *            the language of the violation messages or <code>null</code> for the platform
+     *            locale
+     * @param moduleClassLoader
+     *            the class loader the modules are loaded from
+     * @return the content key
+     * @throws CheckstyleException
+     *             error reading the configuration
+     */
+    static CheckerContentKey compute(Configuration configuration, String charset, String locale,
+        ClassLoader moduleClassLoader) throws CheckstyleException {
+        final MessageDigest digest = createDigest();
+        update(digest, configuration);
+        update(digest, charset);
+        update(digest, locale);
+        return new CheckerContentKey(HexFormat.of().formatHex(digest.digest()), moduleClassLoader);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj || obj instanceof CheckerContentKey other
+            && mDigest.equals(other.mDigest) && mModuleClassLoader == other.mModuleClassLoader;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mDigest, System.identityHashCode(mModuleClassLoader));
+    }
+
+    @Override
+    public String toString() {
+        return mDigest;
+    }
+
+    private static void update(MessageDigest digest, Configuration configuration)
+            throws CheckstyleException {
+        update(digest, configuration.getName());
+
+        final String[] propertyNames = configuration.getPropertyNames();
+        Arrays.sort(propertyNames);
+        for (String name : propertyNames) {
+            update(digest, name);
+            update(digest, configuration.getProperty(name));
+        }
+        for (Map.Entry<String, String> message : new TreeMap<>(configuration.getMessages())
+            .entrySet()) {
+            update(digest, message.getKey());
+            update(digest, message.getValue());
+        }
+
+        final Configuration[] children = configuration.getChildren();
+        update(digest, Integer.toString(children.length));
+        for (Configuration child : children) {
+            update(digest, child);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update((byte) 0);
+        }
+        else {
+            digest.update((byte) 1);
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+            digest.update((byte) ':');
+            digest.update(bytes);
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -22,10 +22,13 @@ package net.sf.eclipsecs.core.builder;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
@@ -33,6 +36,7 @@ import org.xml.sax.InputSource;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.common.io.Closeables;
 import com.puppycrawl.tools.checkstyle.Checker;
 import com.puppycrawl.tools.checkstyle.ConfigurationLoader;
@@ -48,29 +52,45 @@ import net.sf.eclipsecs.core.CheckstylePlugin;
 import net.sf.eclipsecs.core.CheckstylePluginPrefs;
 import net.sf.eclipsecs.core.config.CheckstyleConfigurationFile;
 import net.sf.eclipsecs.core.config.ICheckConfiguration;
+import net.sf.eclipsecs.core.config.configtypes.IConfigurationType;
 import net.sf.eclipsecs.core.config.configtypes.IContextAware;
+import net.sf.eclipsecs.core.util.CheckstyleLog;
 import net.sf.eclipsecs.core.util.CheckstylePluginException;
 
 /**
- * Factory class to create (and cache) checker objects.
+ * Factory class to create (and cache) checker objects. Checkers are cached by the content of their
+ * effective configuration, so projects sharing a configuration share their checkers. Since checkers
+ * are not thread-safe they are leased to one audit at a time from a pool per configuration.
+ * <p>
+ * The stages of creating a checker are cached separately: the package names of the Checkstyle
+ * modules per addon class loader, the parsed configuration of each project configuration until the
+ * configuration file changes, and the checker pools by configuration content. A checker missing
+ * from the cache is therefore configured from the already parsed configuration.
+ * </p>
  *
  */
 public final class CheckerFactory {
 
-    /** Map containing the configured checkers. */
-    private static Cache<String, Checker> sCheckerMap;
+    /** Map containing the pools of configured checkers by content key. */
+    private static Cache<CheckerContentKey, CheckerPool> sCheckerMap;
 
-    /** Map containing the modification times of configs. */
-    private static Map<String, Long> sModifiedMap;
+    /** Map containing the content keys of the project configurations. */
+    private static Map<String, ContentKey> sContentKeyMap;
+
+    /** The class loader the cached package names were loaded from. */
+    private static ClassLoader sPackageNamesClassLoader;
+
+    /** The cached package names of the Checkstyle modules. */
+    private static Set<String> sPackageNames;
 
     /*
      * Initialize the cache.
      */
     static {
 
-        sCheckerMap = CacheBuilder.newBuilder().softValues().build();
+        sContentKeyMap = new ConcurrentHashMap<>();
 
-        sModifiedMap = new ConcurrentHashMap<>();
+        sCheckerMap = buildCheckerCache();
     }
 
     /**
@@ -81,72 +101,121 @@ public final class CheckerFactory {
     }
 
     /**
-     * Creates a checker for a given configuration file.
+     * Leases a checker for a given configuration file. The checker is exclusively used by the
+     * caller until the lease is closed, concurrent callers get checkers of their own.
      *
      * @param config
      *            the check configuration data
      * @param project
      *            the project to create the checker for
-     * @return the checker for the given configuration file
+     * @return the lease of the checker for the given configuration file
      * @throws CheckstyleException
      *             the configuration file had errors
      * @throws CheckstylePluginException
      *             the configuration could not be read
      */
-    public static Checker createChecker(ICheckConfiguration config, IProject project)
+    public static CheckerLease leaseChecker(ICheckConfiguration config, IProject project)
             throws CheckstyleException, CheckstylePluginException {
-
-        final String cacheKey = getCacheKey(config, project);
-
-        final CheckstyleConfigurationFile configFileData = config.getCheckstyleConfiguration();
-        Checker checker = tryCheckerCache(cacheKey, configFileData.getModificationStamp());
+        final CheckerLease lease = getCheckerPool(config, project).lease();
 
         // clear Checkstyle internal caches upon checker reuse
-        if (checker != null) {
-            checker.clearCache();
-        }
+        lease.getChecker().clearCache();
+        setLocaleIfChanged(lease.getChecker());
 
-        // no cache hit
-        if (checker == null) {
-            final PropertyResolver resolver = configFileData.getPropertyResolver();
+        return lease;
+    }
 
-            // set the project context if the property resolver needs the
-            // context
-            if (resolver instanceof IContextAware) {
-                ((IContextAware) resolver).setProjectContext(project);
-            }
+    /**
+     * Returns the checker pool of a check configuration without leasing a checker, e.g. to find out
+     * the content key and the external resources of its checkers. The configuration is only parsed
+     * if it was modified since it was last parsed, the pool is only created if it is not cached.
+     *
+     * @param config
+     *            the check configuration data
+     * @param project
+     *            the project to create the checker for
+     * @return the checker pool
+     * @throws CheckstyleException
+     *             the configuration file had errors
+     * @throws CheckstylePluginException
+     *             the configuration could not be read
+     */
+    static CheckerPool getCheckerPool(ICheckConfiguration config, IProject project)
+            throws CheckstyleException, CheckstylePluginException {
+        return getPool(getContentKey(config, project), project);
+    }
 
-            InputSource input = null;
-            try {
-                input = configFileData.getCheckConfigFileInputSource();
-                checker = createCheckerInternal(input, resolver, project);
-            }
-            finally {
-                Closeables.closeQuietly(input.getByteStream());
-            }
+    /**
+     * Cleans up the checker cache and the cached audit results.
+     */
+    public static void cleanup() {
+        invalidateCheckers();
+        AuditResultCache.cleanup();
+    }
 
-            // store checker in cache
-            final Long modified = Long.valueOf(configFileData.getModificationStamp());
-            sCheckerMap.put(cacheKey, checker);
-            sModifiedMap.put(cacheKey, modified);
-        }
-        else {
-            setLocaleIfChanged(checker);
-        }
+    /**
+     * Recreates the checker cache using the current cache size and expiry preferences. The cached
+     * checkers and the cache statistics are discarded.
+     */
+    public static void reconfigureCache() {
+        final Cache<CheckerContentKey, CheckerPool> oldCache = sCheckerMap;
+        sCheckerMap = buildCheckerCache();
+        oldCache.invalidateAll();
+        sContentKeyMap.clear();
+    }
 
-        return checker;
+    /**
+     * Returns the statistics of the checker cache since it was created.
+     *
+     * @return the cache statistics
+     */
+    public static CheckerCacheStatistics getCacheStatistics() {
+        final CacheStats stats = sCheckerMap.stats();
+        return new CheckerCacheStatistics(sCheckerMap.size(), stats.hitCount(),
+            stats.missCount(), stats.loadCount(), stats.totalLoadTime(), stats.evictionCount());
     }
 
     /**
-     * Cleans up the checker cache.
+     * Writes the statistics of the checker cache to the error log.
      */
-    public static void cleanup() {
+    public static void logCacheStatistics() {
+        CheckstyleLog.info(getCacheStatistics().format());
+    }
+
+    /**
+     * Discards the cached checkers, so the next audits create new ones.
+     */
+    static void invalidateCheckers() {
         sCheckerMap.invalidateAll();
-        sModifiedMap.clear();
+        sContentKeyMap.clear();
+        synchronized (CheckerFactory.class) {
+            sPackageNames = null;
+            sPackageNamesClassLoader = null;
+        }
+    }
+
+    /**
+     * Creates the checker cache, bounded by the configured maximum size and idle expiry. Each
+     * entry is the checker pool of one configuration, so the size limit counts configurations
+     * and the number of cached checkers is additionally bounded by the pool size.
+     *
+     * @return the checker cache
+     */
+    private static Cache<CheckerContentKey, CheckerPool> buildCheckerCache() {
+        final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+            .maximumSize(Math.max(1,
+                CheckstylePluginPrefs.getInt(CheckstylePluginPrefs.PREF_CHECKER_CACHE_SIZE)))
+            .recordStats();
+        final int expiry = CheckstylePluginPrefs.getInt(
+            CheckstylePluginPrefs.PREF_CHECKER_CACHE_EXPIRY);
+        if (expiry > 0) {
+            builder.expireAfterAccess(Duration.ofMinutes(expiry));
+        }
+        return builder.build();
     }
 
     /**
-     * Build a unique cache key for the check configuration.
+     * Build a unique key for the check configuration of a project.
      *
      * @param config
      *            the check configuration
@@ -158,9 +227,7 @@ public final class CheckerFactory {
      */
     private static String getCacheKey(ICheckConfiguration config, IProject project)
             throws CheckstylePluginException {
-        final CheckstyleConfigurationFile configFileData = config.getCheckstyleConfiguration();
-
-        final URL configLocation = configFileData.getResolvedConfigFileURL();
+        final URL configLocation = config.getResolvedConfigurationFileURL();
         final String checkConfigName =
             config.getName() + "#" + (config.isGlobal() ? "Global" : "Local");
 
@@ -168,43 +235,195 @@ public final class CheckerFactory {
     }
 
     /**
-     * Tries to reuse an already configured checker for this configuration.
+     * Returns the cached checker pool for a content key, creating it if necessary. Only one pool is
+     * created per key at a time, concurrent callers wait for the creation to finish and share the
+     * result.
+     *
+     * @param contentKey
+     *            the content key
+     * @param loader
+     *            creates the pool on a cache miss
+     * @return the checker pool
+     * @throws CheckstyleException
+     *             the configuration file had errors
+     * @throws CheckstylePluginException
+     *             the configuration could not be read
+     */
+    private static CheckerPool getOrCreatePool(CheckerContentKey contentKey,
+        Callable<CheckerPool> loader) throws CheckstyleException, CheckstylePluginException {
+        CheckerPool pool = null;
+        try {
+            pool = sCheckerMap.get(contentKey, loader);
+        }
+        catch (ExecutionException ex) {
+            if (ex.getCause() instanceof CheckstyleException checkstyleException) {
+                throw checkstyleException;
+            }
+            CheckstylePluginException.rethrow(ex.getCause());
+        }
+        return pool;
+    }
+
+    /**
+     * Creates a checker pool for the given configuration, holding one initial checker. Additional
+     * checkers of the pool are configured from the same loaded configuration.
+     *
+     * @param contentKey
+     *            the content key of the configuration
+     * @param configuration
+     *            the loaded configuration
+     * @param project
+     *            the project
+     * @return the checker pool
+     * @throws CheckstyleException
+     *             an exception during the creation of the checker occured
+     * @throws CheckstylePluginException
+     *             an unexpected exception occurred
+     */
+    private static CheckerPool createPool(CheckerContentKey contentKey,
+        Configuration configuration, IProject project)
+            throws CheckstyleException, CheckstylePluginException {
+        return new CheckerPool(contentKey, createCheckerInternal(configuration, project),
+            () -> createCheckerInternal(configuration, project),
+            CheckstylePluginPrefs.getInt(CheckstylePluginPrefs.PREF_CHECKER_POOL_SIZE));
+    }
+
+    /**
+     * Returns the content key of a check configuration.
+     *
+     * @param config
+     *            the check configuration data
+     * @param project
+     *            the project to create the checker for
+     * @return the content key
+     * @throws CheckstyleException
+     *             the configuration file had errors
+     * @throws CheckstylePluginException
+     *             the configuration could not be read
+     */
+    private static ContentKey getContentKey(ICheckConfiguration config, IProject project)
+            throws CheckstyleException, CheckstylePluginException {
+        final String cacheKey = getCacheKey(config, project);
+
+        // probe the configuration for modifications without reading it, if the configuration type
+        // supports this
+        long modificationStamp = config.getType().getModificationStamp(config);
+        if (modificationStamp == IConfigurationType.UNKNOWN_MODIFICATION_STAMP) {
+            modificationStamp = config.getCheckstyleConfiguration().getModificationStamp();
+        }
+
+        // the configuration only needs to be parsed if it was modified since the content key of
+        // the project configuration was computed
+        ContentKey contentKey = tryContentKeyCache(cacheKey, modificationStamp);
+        if (contentKey == null) {
+            final Configuration configuration = loadConfiguration(config, project);
+            contentKey = new ContentKey(modificationStamp, CheckerContentKey.compute(configuration,
+                getCharset(project), getLocale(),
+                CheckstylePlugin.getDefault().getAddonExtensionClassLoader()), configuration);
+            sContentKeyMap.put(cacheKey, contentKey);
+        }
+        return contentKey;
+    }
+
+    /**
+     * Returns the checker pool of a content key, creating it if necessary.
+     *
+     * @param contentKey
+     *            the content key
+     * @param project
+     *            the project to create the checkers for
+     * @return the checker pool
+     * @throws CheckstyleException
+     *             the configuration file had errors
+     * @throws CheckstylePluginException
+     *             the configuration could not be read
+     */
+    private static CheckerPool getPool(ContentKey contentKey, IProject project)
+            throws CheckstyleException, CheckstylePluginException {
+        // on a cache miss the pool is created once, concurrent requests for the same key wait
+        // for it instead of creating their own
+        final Configuration configuration = contentKey.configuration();
+        return getOrCreatePool(contentKey.key(),
+            () -> createPool(contentKey.key(), configuration, project));
+    }
+
+    /**
+     * Tries to reuse the content key computed for the project configuration.
      *
      * @param cacheKey
-     *            the key for cache access
+     *            the key of the project configuration
      * @param modificationStamp
      *            the last modification timestamp of the configuration file
-     * @return the cached checker or null
+     * @return the content key or <code>null</code> if the configuration was modified since
      */
-    private static Checker tryCheckerCache(String cacheKey, long modificationStamp) {
+    private static ContentKey tryContentKeyCache(String cacheKey, long modificationStamp) {
+        ContentKey contentKey = sContentKeyMap.get(cacheKey);
+        if (contentKey != null && contentKey.modificationStamp() != modificationStamp) {
+            contentKey = null;
+        }
+        return contentKey;
+    }
 
-        // try the cache
-        Checker checker = sCheckerMap.getIfPresent(cacheKey);
+    /**
+     * Returns the package names of the Checkstyle modules provided by the given class loader. The
+     * package names are only loaded again if the addon class loader changed.
+     *
+     * @param moduleClassLoader
+     *            the class loader of the Checkstyle modules
+     * @return the package names
+     * @throws CheckstyleException
+     *             the package names could not be loaded
+     */
+    private static synchronized Set<String> getPackageNames(ClassLoader moduleClassLoader)
+            throws CheckstyleException {
+        if (sPackageNames == null || sPackageNamesClassLoader != moduleClassLoader) {
+            sPackageNames = PackageNamesLoader.getPackageNames(moduleClassLoader);
+            sPackageNamesClassLoader = moduleClassLoader;
+        }
+        return sPackageNames;
+    }
 
-        // if cache hit
-        if (checker != null) {
+    /**
+     * Loads the configuration of the given check configuration, resolving its properties in the
+     * context of the project.
+     *
+     * @param config
+     *            the check configuration
+     * @param project
+     *            the project
+     * @return the loaded configuration
+     * @throws CheckstyleException
+     *             an exception during loading the configuration occured
+     * @throws CheckstylePluginException
+     *             the configuration could not be read
+     */
+    private static Configuration loadConfiguration(ICheckConfiguration config, IProject project)
+            throws CheckstyleException, CheckstylePluginException {
+        final CheckstyleConfigurationFile configFileData = config.getCheckstyleConfiguration();
+        final PropertyResolver resolver = configFileData.getPropertyResolver();
 
-            // compare modification times of the configs
-            final Long oldTime = sModifiedMap.get(cacheKey);
-            final Long newTime = Long.valueOf(modificationStamp);
+        // set the project context if the property resolver needs the
+        // context
+        if (resolver instanceof IContextAware) {
+            ((IContextAware) resolver).setProjectContext(project);
+        }
 
-            // no match - remove checker from cache
-            if (oldTime == null || oldTime.compareTo(newTime) != 0) {
-                checker = null;
-                sCheckerMap.invalidate(cacheKey);
-                sModifiedMap.remove(cacheKey);
-            }
+        InputSource input = null;
+        try {
+            input = configFileData.getCheckConfigFileInputSource();
+            return ConfigurationLoader.loadConfiguration(input, resolver,
+                IgnoredModulesOptions.OMIT);
+        }
+        finally {
+            Closeables.closeQuietly(input.getByteStream());
         }
-        return checker;
     }
 
     /**
-     * Creates a new checker and configures it with the given configuration file.
+     * Creates a new checker and configures it with the given configuration.
      *
-     * @param input
-     *            the input source for the configuration file
-     * @param propResolver
-     *            a property resolver null
+     * @param configuration
+     *            the loaded configuration
      * @param project
      *            the project
      * @return the newly created Checker
@@ -213,25 +432,21 @@ public final class CheckerFactory {
      * @throws CheckstylePluginException
      *             an unexpected exception occurred
      */
-    private static Checker createCheckerInternal(InputSource input, PropertyResolver propResolver,
-        IProject project) throws CheckstyleException, CheckstylePluginException {
-
-        // load configuration
-        final Configuration configuration =
-            ConfigurationLoader.loadConfiguration(input, propResolver, IgnoredModulesOptions.OMIT);
+    private static Checker createCheckerInternal(Configuration configuration, IProject project)
+            throws CheckstyleException, CheckstylePluginException {
 
         final ClassLoader moduleClassLoader =
             CheckstylePlugin.getDefault().getAddonExtensionClassLoader();
-        final Set<String> packageNames = PackageNamesLoader.getPackageNames(moduleClassLoader);
+        final Set<String> packageNames = getPackageNames(moduleClassLoader);
 
-        // create and configure checker
-        final Checker checker = new Checker();
+        // create and configure checker, instrumented if the module timing is enabled
+        final Checker checker = ContentChecker.create();
         checker.setModuleFactory(new PackageObjectFactory(packageNames, moduleClassLoader,
             ModuleLoadOption.TRY_IN_ALL_REGISTERED_PACKAGES));
         try {
-            checker.setCharset(project.getDefaultCharset());
+            checker.setCharset(getCharset(project));
         }
-        catch (UnsupportedEncodingException | CoreException ex) {
+        catch (UnsupportedEncodingException ex) {
             CheckstylePluginException.rethrow(ex);
         }
 
@@ -247,6 +462,17 @@ public final class CheckerFactory {
         return checker;
     }
 
+    private static String getCharset(IProject project) throws CheckstylePluginException {
+        String charset = null;
+        try {
+            charset = project.getDefaultCharset();
+        }
+        catch (CoreException ex) {
+            CheckstylePluginException.rethrow(ex);
+        }
+        return charset;
+    }
+
     private static void setLocaleIfChanged(final Checker checker) {
         final String lc = getLocale();
         if (lc != null && !lc.equals(CheckstylePlugin.getPlatformLocale().getLanguage())) {
@@ -281,4 +507,18 @@ public final class CheckerFactory {
         }
         return lang;
     }
+
+    /**
+     * The content key and parsed configuration of a project configuration.
+     *
+     * @param modificationStamp
+     *            the modification timestamp of the configuration file the key was computed for
+     * @param key
+     *            the content key
+     * @param configuration
+     *            the parsed configuration
+     */
+    private record ContentKey(long modificationStamp, CheckerContentKey key,
+        Configuration configuration) {
+    }
 }
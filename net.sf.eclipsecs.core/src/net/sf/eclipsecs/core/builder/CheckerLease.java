@@ -0,0 +1,80 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+
+/**
+ * Exclusive lease of a cached checker. The checker must not be used by anyone else while leased
+ * and must no longer be used after the lease was closed, which returns the checker to its pool.
+ *
+ * <pre>
+ * try (CheckerLease lease = CheckerFactory.leaseChecker(config, project)) {
+ *     lease.getChecker().process(files);
+ * }
+ * </pre>
+ */
+public final class CheckerLease implements AutoCloseable {
+
+    /** The pool the checker is returned to. */
+    private final CheckerPool mPool;
+
+    /** The leased checker. */
+    private Checker mChecker;
+
+    /**
+     * Creates the lease.
+     *
+     * @param pool
+     *            the pool the checker is returned to
+     * @param checker
+     *            the leased checker
+     */
+    CheckerLease(CheckerPool pool, Checker checker) {
+        mPool = pool;
+        mChecker = checker;
+    }
+
+    /**
+     * Returns the leased checker.
+     *
+     * @return the checker
+     * @throws IllegalStateException
+     *             the lease was already closed
+     */
+    public Checker getChecker() {
+        if (mChecker == null) {
+            throw new IllegalStateException("Checker lease already closed");
+        }
+        return mChecker;
+    }
+
+    /**
+     * Returns the checker to its pool. Closing a lease more than once has no effect.
+     */
+    @Override
+    public void close() {
+        if (mChecker != null) {
+            mPool.release(mChecker);
+            mChecker = null;
+        }
+    }
+}
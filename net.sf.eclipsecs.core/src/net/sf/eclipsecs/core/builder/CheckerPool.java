@@ -0,0 +1,150 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import net.sf.eclipsecs.core.util.CheckstylePluginException;
+
+/**
+ * Pool of checkers sharing the same effective configuration. Checkers are not thread-safe, so each
+ * checker is leased to one audit at a time. Returned checkers are kept for the next lease up to the
+ * pool size, additional checkers needed by concurrent audits are created on demand.
+ */
+final class CheckerPool {
+
+    /** The idle checkers. */
+    private final Deque<Checker> mIdleCheckers = new ArrayDeque<>();
+
+    /** Creates additional checkers. */
+    private final CheckerSupplier mSupplier;
+
+    /** The maximum number of idle checkers kept. */
+    private final int mPoolSize;
+
+    /** The content key of the checkers. */
+    private final CheckerContentKey mContentKey;
+
+    /** The locations of the external resources read by the checkers. */
+    private final Set<String> mExternalResourceLocations;
+
+    /**
+     * Creates a pool with an initial checker.
+     *
+     * @param contentKey
+     *            the content key of the checkers
+     * @param checker
+     *            the initial idle checker
+     * @param supplier
+     *            creates additional checkers
+     * @param poolSize
+     *            the maximum number of idle checkers kept
+     */
+    CheckerPool(CheckerContentKey contentKey, Checker checker, CheckerSupplier supplier,
+        int poolSize) {
+        mContentKey = contentKey;
+        mSupplier = supplier;
+        mPoolSize = Math.max(1, poolSize);
+        // the checkers of the factory are always content checkers
+        mExternalResourceLocations =
+            Set.copyOf(((ContentChecker) checker).collectExternalResourceLocations());
+        mIdleCheckers.push(checker);
+    }
+
+    /**
+     * Returns the content key of the checkers.
+     *
+     * @return the content key
+     */
+    CheckerContentKey getContentKey() {
+        return mContentKey;
+    }
+
+    /**
+     * Returns the locations of the external resources the checkers read, e.g. suppression or header
+     * files. All checkers of the pool share the same configuration and therefore the same external
+     * resources.
+     *
+     * @return the locations of the external resources
+     */
+    Set<String> getExternalResourceLocations() {
+        return mExternalResourceLocations;
+    }
+
+    /**
+     * Leases an idle checker from the pool or a new one if all checkers are in use.
+     *
+     * @return the lease of the checker, which is exclusively owned by the caller until the lease
+     *         is closed
+     * @throws CheckstyleException
+     *             the configuration file had errors
+     * @throws CheckstylePluginException
+     *             the configuration could not be read
+     */
+    CheckerLease lease() throws CheckstyleException, CheckstylePluginException {
+        Checker checker;
+        synchronized (mIdleCheckers) {
+            checker = mIdleCheckers.poll();
+        }
+
+        // create the checker outside the lock, this may take a while
+        if (checker == null) {
+            checker = mSupplier.get();
+        }
+        return new CheckerLease(this, checker);
+    }
+
+    /**
+     * Returns a checker to the pool. The checker is discarded if the pool is full.
+     *
+     * @param checker
+     *            the checker leased from this pool
+     */
+    void release(Checker checker) {
+        synchronized (mIdleCheckers) {
+            if (mIdleCheckers.size() < mPoolSize) {
+                mIdleCheckers.push(checker);
+            }
+        }
+    }
+
+    /**
+     * Creates the checkers of a pool.
+     */
+    @FunctionalInterface
+    interface CheckerSupplier {
+
+        /**
+         * Creates a new checker.
+         *
+         * @return the checker
+         * @throws CheckstyleException
+         *             the configuration file had errors
+         * @throws CheckstylePluginException
+         *             the configuration could not be read
+         */
+        Checker get() throws CheckstyleException, CheckstylePluginException;
+    }
+}
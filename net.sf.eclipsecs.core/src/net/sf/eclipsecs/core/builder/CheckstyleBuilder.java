@@ -24,8 +24,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -49,10 +51,13 @@ import net.sf.eclipsecs.core.CheckstylePlugin;
 import net.sf.eclipsecs.core.CheckstylePluginPrefs;
 import net.sf.eclipsecs.core.Messages;
 import net.sf.eclipsecs.core.config.ICheckConfiguration;
+import net.sf.eclipsecs.core.jobs.AuditScheduler;
 import net.sf.eclipsecs.core.jobs.AuditorJob;
 import net.sf.eclipsecs.core.jobs.BuildProjectJob;
+import net.sf.eclipsecs.core.jobs.PrewarmCheckersJob;
 import net.sf.eclipsecs.core.nature.CheckstyleNature;
 import net.sf.eclipsecs.core.projectconfig.FileSet;
+import net.sf.eclipsecs.core.projectconfig.FileSetMatcher;
 import net.sf.eclipsecs.core.projectconfig.IProjectConfiguration;
 import net.sf.eclipsecs.core.projectconfig.ProjectConfigurationFactory;
 import net.sf.eclipsecs.core.projectconfig.filters.IFilter;
@@ -67,6 +72,9 @@ public class CheckstyleBuilder extends IncrementalProjectBuilder {
     /** Eclipse extension point ID for the builder. */
     public static final String BUILDER_ID = CheckstylePlugin.PLUGIN_ID + ".CheckstyleBuilder";
 
+    /** The project configuration used by the previous build of this builder's project. */
+    private ProjectConfigurationSnapshot mLastSnapshot;
+
     /**
      * Run the Checkstyle builder on all open projects in the workspace.
      *
@@ -107,20 +115,70 @@ public class CheckstyleBuilder extends IncrementalProjectBuilder {
             }
         }
 
-        // uses the new Jobs API to run the build in the background
+        // uses the new Jobs API to run the build in the background, several projects get compiled
+        // and then audited concurrently under rules of their own, a single project is built with
+        // all its builders
         final BuildProjectJob buildJob =
             new BuildProjectJob(checkstyleProjects.toArray(new IProject[checkstyleProjects.size()]),
                 IncrementalProjectBuilder.FULL_BUILD);
-        buildJob.setRule(ResourcesPlugin.getWorkspace().getRoot());
+        if (checkstyleProjects.size() <= 1) {
+            buildJob.setRule(ResourcesPlugin.getWorkspace().getRoot());
+        }
         buildJob.schedule();
     }
 
+    /**
+     * Audits all files of a project just like a full build of the Checkstyle builder, without
+     * running the builder. {@link IProject#build(int, String, Map, IProgressMonitor)} requires the
+     * workspace root rule, so builds checking several projects concurrently under rules of the
+     * single projects audit them this way.
+     *
+     * @param project
+     *            the project to audit
+     * @param monitor
+     *            the progress monitor
+     * @throws CoreException
+     *             if the audit fails
+     * @throws OperationCanceledException
+     *             the audit was canceled
+     */
+    public static void auditProject(IProject project, IProgressMonitor monitor)
+            throws CoreException {
+        new CheckstyleBuilder().buildProject(project, null, FULL_BUILD, monitor);
+    }
+
     @Override
     protected final IProject[] build(final int kind, @SuppressWarnings("rawtypes") final Map args,
         final IProgressMonitor monitor) throws CoreException {
 
         // get the associated project for this builder
         final IProject project = getProject();
+        buildProject(project, getDelta(project), kind, monitor);
+
+        return new IProject[] {
+            project,
+        };
+    }
+
+    /**
+     * Builds a project.
+     *
+     * @param project
+     *            the project
+     * @param resourceDelta
+     *            the changes since the last build, <code>null</code> to check all files
+     * @param kind
+     *            the kind of build
+     * @param monitor
+     *            the progress monitor
+     * @throws CoreException
+     *             if the build fails
+     */
+    private void buildProject(IProject project, IResourceDelta resourceDelta, int kind,
+        IProgressMonitor monitor) throws CoreException {
+
+        // the build takes precedence over pre-warming the checkers of other projects
+        PrewarmCheckersJob.cancelAll();
 
         // remove project level error markers
         project.deleteMarkers(CheckstyleMarker.MARKER_ID, false, IResource.DEPTH_ZERO);
@@ -143,19 +201,19 @@ public class CheckstyleBuilder extends IncrementalProjectBuilder {
             }
 
             final Collection<IResource> resources;
-
-            // get the delta of the latest changes
-            final IResourceDelta resourceDelta = getDelta(project);
+            final ProjectConfigurationSnapshot snapshot = ProjectConfigurationSnapshot.take(config);
 
             // find the files for the build
             if (resourceDelta != null) {
                 resources = getResources(resourceDelta, config.getFilters());
+                addFilesAffectedByConfigChange(project, snapshot, resources);
             }
             else {
-                resources = getResources(project, config.getFilters());
+                resources = FilteredFileCollector.collect(project, config.getFilters());
             }
 
             handleBuildSelection(resources, config, monitor, project, kind);
+            mLastSnapshot = snapshot;
 
         }
         else {
@@ -180,10 +238,6 @@ public class CheckstyleBuilder extends IncrementalProjectBuilder {
             final IMarker marker = project.createMarker(CheckstyleMarker.MARKER_ID);
             marker.setAttributes(markerAttributes);
         }
-
-        return new IProject[] {
-            project,
-        };
     }
 
     @Override
@@ -208,38 +262,40 @@ public class CheckstyleBuilder extends IncrementalProjectBuilder {
      *            the resource type parameter
      * @throws CoreException
      *             if the build fails
+     * @throws OperationCanceledException
+     *             the build was canceled
      */
     public final <T extends IResource> void handleBuildSelection(final Collection<T> resources,
         final IProjectConfiguration configuration, final IProgressMonitor monitor,
         final IProject project, final int kind) throws CoreException {
-        // on full build remove all previous checkstyle markers
-        if (kind == IncrementalProjectBuilder.FULL_BUILD) {
-            project.deleteMarkers(CheckstyleMarker.MARKER_ID, false, IResource.DEPTH_INFINITE);
-        }
-
         final boolean backgroundFullBuild =
             CheckstylePluginPrefs.getBoolean(CheckstylePluginPrefs.PREF_BACKGROUND_FULL_BUILD);
 
+        final Set<IResource> claimedResources = new HashSet<>();
         final Map<ICheckConfiguration, Auditor> audits =
-            resolveAudits(resources, configuration, project);
+            resolveAudits(resources, configuration, project, claimedResources);
+
+        // on full build remove all previous checkstyle markers, except the ones the audits
+        // reconcile
+        if (kind == IncrementalProjectBuilder.FULL_BUILD) {
+            MarkerReconciler.deleteMarkersExcept(project, claimedResources);
+        }
+
+        if (monitor.isCanceled()) {
+            throw new OperationCanceledException();
+        }
 
         try {
-            // run all auditors
-            for (Auditor audit : audits.values()) {
-                if (monitor.isCanceled()) {
-                    throw new OperationCanceledException();
-                }
-                if (!audit.hasFiles()) {
-                    continue;
-                }
-                if (backgroundFullBuild && kind == FULL_BUILD) {
-                    final AuditorJob job = new AuditorJob(project, audit);
-                    job.schedule();
-                }
-                else {
-                    audit.runAudit(project, monitor);
+            final List<Auditor> auditsWithFiles =
+                audits.values().stream().filter(Auditor::hasFiles).toList();
+            if (backgroundFullBuild && kind == FULL_BUILD) {
+                for (Auditor audit : auditsWithFiles) {
+                    AuditScheduler.schedule(new AuditorJob(project, audit));
                 }
             }
+            else if (!auditsWithFiles.isEmpty()) {
+                runAudits(project, auditsWithFiles, monitor, kind);
+            }
         }
         catch (CheckstylePluginException ex) {
             final Status status = new Status(IStatus.ERROR, CheckstylePlugin.PLUGIN_ID,
@@ -248,6 +304,40 @@ public class CheckstyleBuilder extends IncrementalProjectBuilder {
         }
     }
 
+    /**
+     * Runs the audits of a build. Audits of incremental builds, i.e. of saved files or of files
+     * opened in editors, take precedence over background audits.
+     *
+     * @param project
+     *            the project
+     * @param audits
+     *            the audits
+     * @param monitor
+     *            the progress monitor
+     * @param kind
+     *            the build kind
+     * @throws CheckstylePluginException
+     *             error running an audit
+     * @throws OperationCanceledException
+     *             the build was canceled
+     */
+    private static void runAudits(IProject project, List<Auditor> audits,
+        IProgressMonitor monitor, int kind) throws CheckstylePluginException {
+        final boolean interactive = kind != FULL_BUILD;
+        if (interactive) {
+            InteractiveAuditGate.enter();
+        }
+        try {
+            // auditors without shared files run concurrently, each with a checker of its own
+            ConcurrentAuditRunner.runAudits(project, audits, monitor);
+        }
+        finally {
+            if (interactive) {
+                InteractiveAuditGate.leave();
+            }
+        }
+    }
+
     /**
      * Build a set of auditors from the file sets of this project configuration. File sets that
      * share the same check configuration merge into one Auditor.
@@ -260,18 +350,22 @@ public class CheckstyleBuilder extends IncrementalProjectBuilder {
      *            the project configuration
      * @param project
      *            the project
+     * @param claimedResources
+     *            receives the resources whose markers get reconciled by the auditors
      * @return the map of check configurations to auditors
      * @throws CoreException
      *             if an error occurs
      */
     private <T extends IResource> Map<ICheckConfiguration, Auditor> resolveAudits(
-        Collection<T> resources, IProjectConfiguration configuration, IProject project)
-            throws CoreException {
+        Collection<T> resources, IProjectConfiguration configuration, IProject project,
+        Set<IResource> claimedResources) throws CoreException {
         final List<FileSet> enabledFileSets =
             configuration.getFileSets().stream().filter(FileSet::isEnabled).toList();
 
         final List<IFile> files = resources.stream().filter(resource -> resource instanceof IFile)
             .map(resource -> (IFile) resource).toList();
+        final Set<IResource> filesWithCompileErrors = getFilesWithCompileErrors(project);
+        final Set<IResource> skippedFiles = new HashSet<>();
         final Map<ICheckConfiguration, Auditor> audits = new HashMap<>();
         for (FileSet fileSet : enabledFileSets) {
             final ICheckConfiguration checkConfig = fileSet.getCheckConfig();
@@ -279,35 +373,84 @@ public class CheckstyleBuilder extends IncrementalProjectBuilder {
                 throw new CoreException(new Status(IStatus.ERROR, CheckstylePlugin.PLUGIN_ID,
                     NLS.bind(Messages.errorNoCheckConfig, project.getName())));
             }
+            audits.computeIfAbsent(checkConfig, Auditor::new);
+        }
 
-            final Auditor audit = audits.computeIfAbsent(checkConfig, Auditor::new);
+        // check which file sets each file belongs to, matching all file sets at once
+        final FileSetMatcher matcher = FileSetMatcher.compile(enabledFileSets);
+        for (IFile file : files) {
+            final List<FileSet> fileSets = matcher.getMatchingFileSets(file);
 
-            // check which files belong to the file set
-            final List<IFile> filesInFileset =
-                files.stream().filter(fileSet::includesFile).toList();
+            // avoid checkstyle parser errors being shown
+            if (!fileSets.isEmpty() && filesWithCompileErrors.contains(file)) {
+                skippedFiles.add(file);
+                continue;
+            }
 
-            for (IFile file : filesInFileset) {
-                final boolean hasCompileErrors =
-                    IMarker.SEVERITY_ERROR == file.findMaxProblemSeverity(
-                        IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, true, IResource.DEPTH_ZERO);
+            for (FileSet fileSet : fileSets) {
+                audits.get(fileSet.getCheckConfig()).addFile(file);
+            }
+        }
 
-                // remove markers on this file
-                file.deleteMarkers(CheckstyleMarker.MARKER_ID, false, IResource.DEPTH_ZERO);
+        // remove markers on the skipped files in one batch, audited files get their markers
+        // replaced by the auditor
+        MarkerReconciler.deleteMarkers(project, skippedFiles);
 
-                // avoid checkstyle parser errors being shown
-                if (hasCompileErrors) {
-                    continue;
-                }
+        // the first audit claiming a file reconciles its markers, audits sharing files run in
+        // the order of their claims
+        for (Auditor audit : audits.values()) {
+            audit.claimMarkers(claimedResources);
+        }
+        return audits;
+    }
 
-                audit.addFile(file);
+    /**
+     * Adds the files whose file sets, check configurations or filter outcome changed since the
+     * previous build to the resources to build. Files no longer audited lose their markers, the
+     * markers of all other files are left untouched.
+     *
+     * @param project
+     *            the project
+     * @param snapshot
+     *            the snapshot of the current project configuration
+     * @param resources
+     *            the resources to build
+     * @throws CoreException
+     *             an unexpected error occurred
+     */
+    private void addFilesAffectedByConfigChange(IProject project,
+        ProjectConfigurationSnapshot snapshot, Collection<IResource> resources)
+            throws CoreException {
+        if (mLastSnapshot != null && !snapshot.isEquivalent(mLastSnapshot)) {
+            final Set<IResource> removedFiles = new HashSet<>();
+            final Set<IResource> changedFiles =
+                snapshot.getChangedFiles(project, mLastSnapshot, removedFiles);
+            MarkerReconciler.deleteMarkers(project, removedFiles);
+
+            changedFiles.removeAll(resources);
+            resources.addAll(changedFiles);
+        }
+    }
 
-                // remove markers from package to prevent
-                // packagehtml messages from accumulatin
-                file.getParent().deleteMarkers(CheckstyleMarker.MARKER_ID, false,
-                    IResource.DEPTH_ZERO);
+    /**
+     * Determines the files of a project with compile errors using a single marker query.
+     *
+     * @param project
+     *            the project
+     * @return the files with compile errors
+     * @throws CoreException
+     *             error accessing the markers
+     */
+    private static Set<IResource> getFilesWithCompileErrors(IProject project)
+            throws CoreException {
+        final Set<IResource> files = new HashSet<>();
+        for (IMarker marker : project.findMarkers(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, true,
+            IResource.DEPTH_INFINITE)) {
+            if (marker.getAttribute(IMarker.SEVERITY, -1) == IMarker.SEVERITY_ERROR) {
+                files.add(marker.getResource());
             }
         }
-        return audits;
+        return files;
     }
 
     /**
@@ -361,48 +504,6 @@ public class CheckstyleBuilder extends IncrementalProjectBuilder {
         return resources;
     }
 
-    /**
-     * Get all files to build from a given container.
-     *
-     * @param container
-     *            the container
-     * @param filters
-     *            filters to exclude elements from the check
-     * @return collection of files to build
-     * @throws CoreException
-     *             an unexpected error occurred
-     */
-    private Collection<IResource> getResources(final IContainer container,
-        final List<IFilter> filters) throws CoreException {
-
-        final List<IResource> resources = new ArrayList<>();
-
-        // loop over children resources
-        for (IResource child : container.members()) {
-            // filter resources
-            boolean goesThrough = true;
-            for (IFilter filter : filters) {
-                if (filter.isEnabled() && !filter.accept(child)) {
-                    goesThrough = false;
-                    break;
-                }
-            }
-
-            // the child has made it through the filters
-            if (goesThrough) {
-
-                // add to the resources to check
-                resources.add(child);
-            }
-
-            // recurse over containers
-            if (child instanceof IContainer) {
-                resources.addAll(getResources((IContainer) child, filters));
-            }
-        }
-        return resources;
-    }
-
     @Override
     public ISchedulingRule getRule(int kind, Map<String, String> args) {
         return getProject();
@@ -41,6 +41,9 @@ public final class CheckstyleMarker {
     /** Constant for message key info additionally stored. */
     public static final String MESSAGE_KEY = "MessageKey";
 
+    /** Column number key in marker attributes. */
+    public static final String COLUMN_NUMBER = "ColumnNumber";
+
     /** Constant for the error marker type. */
     public static final String ERROR_TYPE = CheckstylePlugin.PLUGIN_ID + ".error";
 
@@ -0,0 +1,295 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.osgi.util.NLS;
+
+import net.sf.eclipsecs.core.Messages;
+import net.sf.eclipsecs.core.util.CheckstylePluginException;
+
+/**
+ * Runs the auditors of one build concurrently. Each auditor leases a checker of its own, their
+ * progress is aggregated into the monitor of the build, and a cancellation of the build or a
+ * failing auditor stops all auditors.
+ * <p>
+ * The markers of a file or folder are reconciled by the first auditor claiming it, the auditors
+ * claiming it later only add their markers. Auditors sharing files or folders are therefore put
+ * into one lane and run one after another in the order of their claims, only the lanes run
+ * concurrently.
+ * </p>
+ */
+final class ConcurrentAuditRunner {
+
+    /**
+     * Hidden utility class constructor.
+     */
+    private ConcurrentAuditRunner() {
+        // noop
+    }
+
+    /**
+     * Runs the given auditors, concurrently if they do not share files or folders.
+     *
+     * @param project
+     *            the audited project
+     * @param audits
+     *            the auditors to run, in the order they claimed their markers
+     * @param monitor
+     *            the progress monitor of the build
+     * @throws CheckstylePluginException
+     *             error processing an audit
+     * @throws OperationCanceledException
+     *             the build was canceled
+     */
+    static void runAudits(IProject project, Collection<Auditor> audits, IProgressMonitor monitor)
+            throws CheckstylePluginException {
+        final List<List<Auditor>> lanes = getLanes(audits, Auditor::getMarkerResources);
+        if (lanes.size() == 1) {
+            for (Auditor audit : audits) {
+                audit.runAudit(project, monitor);
+            }
+        }
+        else {
+            runConcurrently(project, audits, lanes, monitor);
+        }
+    }
+
+    /**
+     * Puts auditors sharing files or folders into the same lane, keeping the order of the
+     * auditors within each lane.
+     *
+     * @param <T>
+     *            the type of the auditors
+     * @param <R>
+     *            the type of the resources
+     * @param audits
+     *            the auditors in the order they claimed their markers
+     * @param markerResources
+     *            returns the files and folders whose markers an auditor writes
+     * @return the lanes of auditors
+     */
+    static <T, R> List<List<T>> getLanes(Collection<T> audits,
+        Function<T, Set<R>> markerResources) {
+        final List<T> auditList = List.copyOf(audits);
+
+        // union the auditors sharing a resource, the first auditor of a lane is its root
+        final int[] roots = new int[auditList.size()];
+        final Map<R, Integer> owners = new HashMap<>();
+        for (int i = 0; i < roots.length; i++) {
+            roots[i] = i;
+            for (R resource : markerResources.apply(auditList.get(i))) {
+                final Integer owner = owners.putIfAbsent(resource, i);
+                if (owner != null) {
+                    final int root = findRoot(roots, owner);
+                    final int ownRoot = findRoot(roots, i);
+                    roots[Math.max(root, ownRoot)] = Math.min(root, ownRoot);
+                }
+            }
+        }
+
+        final Map<Integer, List<T>> lanes = new LinkedHashMap<>();
+        for (int i = 0; i < roots.length; i++) {
+            lanes.computeIfAbsent(findRoot(roots, i), key -> new ArrayList<>())
+                .add(auditList.get(i));
+        }
+        return new ArrayList<>(lanes.values());
+    }
+
+    private static int findRoot(int[] roots, int index) {
+        int root = index;
+        while (roots[root] != root) {
+            root = roots[root];
+        }
+        return root;
+    }
+
+    private static void runConcurrently(IProject project, Collection<Auditor> audits,
+        List<List<Auditor>> lanes, IProgressMonitor monitor) throws CheckstylePluginException {
+        final IProgressMonitor sharedMonitor = new SynchronizedProgressMonitor(monitor);
+        sharedMonitor.beginTask(NLS.bind(Messages.AuditorJob_msgBuildProject, project.getName()),
+            audits.stream().mapToInt(Auditor::getFileCount).sum());
+
+        final AtomicBoolean failed = new AtomicBoolean();
+        final ExecutorService executor = Executors.newFixedThreadPool(
+            Math.min(lanes.size(), Runtime.getRuntime().availableProcessors()),
+            Thread.ofPlatform().name("Checkstyle Auditor").daemon().factory());
+        try {
+            final List<Future<Void>> results = new ArrayList<>();
+            for (List<Auditor> lane : lanes) {
+                results.add(executor.submit(() -> {
+                    runLane(project, lane, sharedMonitor, failed);
+                    return null;
+                }));
+            }
+            awaitAll(results);
+        }
+        finally {
+            executor.shutdownNow();
+            sharedMonitor.done();
+        }
+    }
+
+    private static void runLane(IProject project, List<Auditor> lane,
+        IProgressMonitor sharedMonitor, AtomicBoolean failed) throws CheckstylePluginException {
+        try {
+            for (Auditor audit : lane) {
+                final IProgressMonitor auditMonitor =
+                    new AuditProgressMonitor(sharedMonitor, failed, audit.getFileCount());
+                if (auditMonitor.isCanceled()) {
+                    throw new OperationCanceledException();
+                }
+                audit.runAudit(project, auditMonitor);
+            }
+        }
+        catch (CheckstylePluginException | RuntimeException ex) {
+            // let the other auditors stop as well
+            failed.set(true);
+            throw ex;
+        }
+    }
+
+    /**
+     * Waits for all auditors to finish and rethrows the first failure.
+     *
+     * @param results
+     *            the pending results of the auditors
+     * @throws CheckstylePluginException
+     *             error processing an audit
+     * @throws OperationCanceledException
+     *             the build thread was interrupted
+     */
+    private static void awaitAll(List<Future<Void>> results) throws CheckstylePluginException {
+        Throwable failure = null;
+        for (Future<Void> result : results) {
+            try {
+                result.get();
+            }
+            catch (ExecutionException ex) {
+                if (failure == null) {
+                    failure = ex.getCause();
+                }
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new OperationCanceledException();
+            }
+        }
+
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        else if (failure != null) {
+            CheckstylePluginException.rethrow(failure);
+        }
+    }
+
+    /**
+     * Progress monitor of one auditor, reporting its work to the shared monitor of the build.
+     * The auditor is canceled if the build is canceled or another auditor failed.
+     */
+    private static final class AuditProgressMonitor implements IProgressMonitor {
+
+        /** The shared monitor of the build. */
+        private final IProgressMonitor mShared;
+
+        /** Set once an auditor failed. */
+        private final AtomicBoolean mFailed;
+
+        /** The work assigned to the auditor in the shared monitor. */
+        private final int mTotalWork;
+
+        /** The work reported so far. */
+        private int mWorked;
+
+        /** Whether the auditor was canceled. */
+        private boolean mCanceled;
+
+        AuditProgressMonitor(IProgressMonitor shared, AtomicBoolean failed, int totalWork) {
+            mShared = shared;
+            mFailed = failed;
+            mTotalWork = totalWork;
+        }
+
+        @Override
+        public void beginTask(String name, int totalWork) {
+            // the task of the build is shown
+        }
+
+        @Override
+        public synchronized void done() {
+            if (mWorked < mTotalWork) {
+                mShared.worked(mTotalWork - mWorked);
+                mWorked = mTotalWork;
+            }
+        }
+
+        @Override
+        public void internalWorked(double work) {
+            // only whole units of work are forwarded
+        }
+
+        @Override
+        public synchronized boolean isCanceled() {
+            return mCanceled || mFailed.get() || mShared.isCanceled();
+        }
+
+        @Override
+        public synchronized void setCanceled(boolean value) {
+            mCanceled = value;
+        }
+
+        @Override
+        public void setTaskName(String name) {
+            // the task of the build is shown
+        }
+
+        @Override
+        public void subTask(String name) {
+            mShared.subTask(name);
+        }
+
+        @Override
+        public synchronized void worked(int work) {
+            final int forwarded = Math.min(work, mTotalWork - mWorked);
+            if (forwarded > 0) {
+                mShared.worked(forwarded);
+                mWorked += forwarded;
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import net.sf.eclipsecs.core.config.ICheckConfiguration;
+import net.sf.eclipsecs.core.projectconfig.FileSet;
+import net.sf.eclipsecs.core.projectconfig.FileSetMatcher;
+import net.sf.eclipsecs.core.projectconfig.IProjectConfiguration;
+import net.sf.eclipsecs.core.projectconfig.ProjectConfigurationFactory;
+import net.sf.eclipsecs.core.projectconfig.filters.IFilter;
+import net.sf.eclipsecs.core.util.CheckstylePluginException;
+
+/**
+ * Audits the unsaved content of a file, e.g. of a file being edited, with the check configurations
+ * of the file sets the file belongs to. The checkers are leased from the checker cache, so only
+ * the file itself gets checked.
+ */
+public final class ContentAuditor {
+
+    /**
+     * Hidden utility class constructor.
+     */
+    private ContentAuditor() {
+        // noop
+    }
+
+    /**
+     * Audits the unsaved content of a file. No markers are written, the violations are returned
+     * as the attributes of the markers the audit of the saved file would create.
+     *
+     * @param file
+     *            the file
+     * @param content
+     *            the unsaved content of the file
+     * @param monitor
+     *            the progress monitor
+     * @return the marker attributes of the violations found
+     * @throws CheckstylePluginException
+     *             error reading the project configuration or processing the audit
+     */
+    public static List<Map<String, Object>> audit(IFile file, String content,
+        IProgressMonitor monitor) throws CheckstylePluginException {
+        final IProject project = file.getProject();
+        final IProjectConfiguration configuration =
+            ProjectConfigurationFactory.getConfiguration(project);
+
+        final List<Map<String, Object>> violations = new ArrayList<>();
+        for (ICheckConfiguration checkConfig : getCheckConfigurations(file, configuration)) {
+            final Auditor auditor = new Auditor(checkConfig);
+            auditor.addFile(file);
+            violations.addAll(auditor.runContentAudit(project, content, monitor));
+        }
+        return violations;
+    }
+
+    private static Set<ICheckConfiguration> getCheckConfigurations(IFile file,
+        IProjectConfiguration configuration) {
+        final Set<ICheckConfiguration> checkConfigs = new LinkedHashSet<>();
+        if (isAccepted(file, configuration)) {
+            final List<FileSet> enabledFileSets =
+                configuration.getFileSets().stream().filter(FileSet::isEnabled).toList();
+            for (FileSet fileSet : FileSetMatcher.compile(enabledFileSets)
+                .getMatchingFileSets(file)) {
+                if (fileSet.getCheckConfig() != null) {
+                    checkConfigs.add(fileSet.getCheckConfig());
+                }
+            }
+        }
+        return checkConfigs;
+    }
+
+    private static boolean isAccepted(IFile file, IProjectConfiguration configuration) {
+        boolean accepted = true;
+        for (IFilter filter : configuration.getFilters()) {
+            accepted = accepted && (!filter.isEnabled() || filter.accept(file));
+        }
+        return accepted;
+    }
+}
@@ -0,0 +1,345 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.ModuleFactory;
+import com.puppycrawl.tools.checkstyle.TreeWalker;
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.Context;
+import com.puppycrawl.tools.checkstyle.api.ExternalResourceHolder;
+import com.puppycrawl.tools.checkstyle.api.FileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.Filter;
+import com.puppycrawl.tools.checkstyle.api.MessageDispatcher;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+
+/**
+ * Checker which can check the unsaved content of a file instead of the content on disk. The
+ * checker still reads the file, so file filters and suppressions see the real file, but its file
+ * set checks are handed the substituted content. The text handed to the file set checks is kept
+ * until the file is finished, so listeners can compute offsets without reading the file again. If
+ * module timings are enabled the checker also
+ * measures the time spent in its file set checks and in each check of its TreeWalkers.
+ */
+class ContentChecker extends Checker {
+
+    /** The line delimiters, just like in Checkstyle file texts. */
+    private static final Pattern LINE_DELIMITER = Pattern.compile("\\n|\\r\\n?");
+
+    /** Prefix of the module names standing in for timed TreeWalker checks. */
+    private static final String TIMED_CHECK_PREFIX = "net.sf.eclipsecs.TimedCheck#";
+
+    /** Flag if the modules of the checker are timed. */
+    private final boolean mTimed;
+
+    /** The timed checks prepared for the TreeWalkers, by the module names standing in for them. */
+    private final Map<String, TimedCheck> mTimedChecks = new ConcurrentHashMap<>();
+
+    /** Counter for the module names standing in for timed checks. */
+    private final AtomicInteger mTimedCheckCount = new AtomicInteger();
+
+    /** The text of the file being checked, <code>null</code> if it was not read. */
+    private FileText mCheckedText;
+
+    /** The file set checks and filters of the checker which read external resources. */
+    private final List<ExternalResourceHolder> mExternalResourceHolders = new ArrayList<>();
+
+    /** The module factory of the checker, <code>null</code> until it is set. */
+    private ModuleFactory mModuleFactory;
+
+    /** The file whose content is substituted, <code>null</code> if none. */
+    private File mContentFile;
+
+    /** The substituted content. */
+    private FileText mContent;
+
+    /**
+     * Creates the checker.
+     *
+     * @param timed
+     *            <code>true</code> to measure the time spent in the modules of the checker
+     */
+    ContentChecker(boolean timed) {
+        mTimed = timed;
+    }
+
+    /**
+     * Creates a checker, measuring the time spent in its modules if module timings are enabled.
+     *
+     * @return the checker
+     */
+    static ContentChecker create() {
+        return new ContentChecker(ModuleTimings.isEnabled());
+    }
+
+    @Override
+    public void setModuleFactory(ModuleFactory moduleFactory) {
+        mModuleFactory = moduleFactory;
+        super.setModuleFactory(mTimed ? this::createModule : moduleFactory);
+    }
+
+    @Override
+    protected void setupChild(Configuration childConf) throws CheckstyleException {
+        Configuration configuration = childConf;
+        if (mTimed && mModuleFactory != null
+                && mModuleFactory.createModule(childConf.getName()) instanceof TreeWalker) {
+            configuration = createTimedTreeWalkerConfiguration(childConf);
+        }
+        super.setupChild(configuration);
+    }
+
+    @Override
+    public void addFileSetCheck(FileSetCheck fileSetCheck) {
+        final ContentFileSetCheck decorator = new ContentFileSetCheck(fileSetCheck);
+        mExternalResourceHolders.add(decorator);
+        super.addFileSetCheck(decorator);
+    }
+
+    @Override
+    public void addFilter(Filter filter) {
+        if (filter instanceof ExternalResourceHolder holder) {
+            mExternalResourceHolders.add(holder);
+        }
+        super.addFilter(filter);
+    }
+
+    /**
+     * Returns the locations of the external resources read by the file set checks and filters of
+     * the configured checker, e.g. suppression or header files.
+     *
+     * @return the locations of the external resources
+     */
+    Set<String> collectExternalResourceLocations() {
+        final Set<String> locations = new HashSet<>();
+        for (ExternalResourceHolder holder : mExternalResourceHolders) {
+            locations.addAll(holder.getExternalResourceLocations());
+        }
+        return locations;
+    }
+
+    /**
+     * Substitutes the content of a file for the following audits.
+     *
+     * @param file
+     *            the file
+     * @param content
+     *            the content to check instead of the content on disk
+     */
+    void setContent(File file, String content) {
+        final List<String> lines =
+            new ArrayList<>(Arrays.asList(LINE_DELIMITER.split(content, -1)));
+
+        // a trailing line delimiter does not start another line
+        if (lines.size() > 1 && lines.get(lines.size() - 1).isEmpty()) {
+            lines.remove(lines.size() - 1);
+        }
+        mContentFile = file.getAbsoluteFile();
+        mContent = new FileText(mContentFile, lines);
+    }
+
+    /**
+     * Removes the substituted content, following audits check the content on disk again.
+     */
+    void clearContent() {
+        mContentFile = null;
+        mContent = null;
+    }
+
+    /**
+     * Returns the text the file set checks are handed for the file being checked.
+     *
+     * @return the text or <code>null</code> if the file was not read
+     */
+    FileText getCheckedText() {
+        return mCheckedText;
+    }
+
+    @Override
+    public void fireFileStarted(String fileName) {
+        mCheckedText = null;
+        super.fireFileStarted(fileName);
+    }
+
+    @Override
+    public void fireFileFinished(String fileName) {
+        super.fireFileFinished(fileName);
+        mCheckedText = null;
+    }
+
+    /**
+     * Creates a module, handing out the timed checks prepared for the TreeWalkers.
+     *
+     * @param name
+     *            the name of the module
+     * @return the module
+     * @throws CheckstyleException
+     *             error creating the module
+     */
+    private Object createModule(String name) throws CheckstyleException {
+        final TimedCheck timedCheck = mTimedChecks.remove(name);
+        return timedCheck != null ? timedCheck : mModuleFactory.createModule(name);
+    }
+
+    /**
+     * Creates a copy of a TreeWalker configuration in which each check is replaced by a timed
+     * check decorating it. The TreeWalker filters stay as they are.
+     *
+     * @param treeWalkerConf
+     *            the configuration of the TreeWalker
+     * @return the configuration with the timed checks
+     * @throws CheckstyleException
+     *             error creating a check
+     */
+    private Configuration createTimedTreeWalkerConfiguration(Configuration treeWalkerConf)
+            throws CheckstyleException {
+        final DefaultConfiguration configuration =
+            new DefaultConfiguration(treeWalkerConf.getName());
+        for (final String propertyName : treeWalkerConf.getPropertyNames()) {
+            configuration.addProperty(propertyName, treeWalkerConf.getProperty(propertyName));
+        }
+        treeWalkerConf.getMessages().forEach(configuration::addMessage);
+
+        for (final Configuration childConf : treeWalkerConf.getChildren()) {
+            final Object module = mModuleFactory.createModule(childConf.getName());
+            if (module instanceof AbstractCheck check) {
+                final String name = TIMED_CHECK_PREFIX + mTimedCheckCount.incrementAndGet();
+                mTimedChecks.put(name, new TimedCheck(check, childConf));
+                configuration.addChild(new DefaultConfiguration(name));
+            }
+            else {
+                configuration.addChild(childConf);
+            }
+        }
+        return configuration;
+    }
+
+    /**
+     * Decorator handing the substituted content to a file set check, measuring the time it spends
+     * on each file if the checker is timed. The external resources of the decorated check are
+     * forwarded, so the checker still sees them.
+     */
+    private final class ContentFileSetCheck implements FileSetCheck, ExternalResourceHolder {
+
+        /** The decorated check. */
+        private final FileSetCheck mDelegate;
+
+        /** The name the timings are recorded under. */
+        private final String mModuleName;
+
+        /**
+         * Creates the decorator.
+         *
+         * @param delegate
+         *            the decorated check
+         */
+        ContentFileSetCheck(FileSetCheck delegate) {
+            mDelegate = delegate;
+            mModuleName = delegate.getClass().getSimpleName();
+        }
+
+        @Override
+        public void configure(Configuration configuration) throws CheckstyleException {
+            mDelegate.configure(configuration);
+        }
+
+        @Override
+        public void contextualize(Context context) throws CheckstyleException {
+            mDelegate.contextualize(context);
+        }
+
+        @Override
+        public void setMessageDispatcher(MessageDispatcher dispatcher) {
+            mDelegate.setMessageDispatcher(dispatcher);
+        }
+
+        @Override
+        public void init() {
+            mDelegate.init();
+        }
+
+        @Override
+        public void destroy() {
+            mDelegate.destroy();
+        }
+
+        @Override
+        public void beginProcessing(String charset) {
+            mDelegate.beginProcessing(charset);
+        }
+
+        @Override
+        public SortedSet<Violation> process(File file, FileText fileText)
+                throws CheckstyleException {
+            final FileText text =
+                mContent != null && mContentFile.equals(file.getAbsoluteFile()) ? mContent
+                    : fileText;
+            mCheckedText = text;
+
+            final long start = System.nanoTime();
+            try {
+                return mDelegate.process(file, text);
+            }
+            finally {
+                if (mTimed) {
+                    ModuleTimings.record(mModuleName, file.getPath(), System.nanoTime() - start);
+                }
+            }
+        }
+
+        @Override
+        public void finishProcessing() {
+            final long start = System.nanoTime();
+            try {
+                mDelegate.finishProcessing();
+            }
+            finally {
+                if (mTimed) {
+                    ModuleTimings.record(mModuleName, null, System.nanoTime() - start);
+                }
+            }
+        }
+
+        @Override
+        public Set<String> getExternalResourceLocations() {
+            Set<String> locations = Set.of();
+            if (mDelegate instanceof ExternalResourceHolder holder) {
+                locations = holder.getExternalResourceLocations();
+            }
+            return locations;
+        }
+    }
+}
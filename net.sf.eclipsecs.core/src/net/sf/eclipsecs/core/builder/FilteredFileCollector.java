@@ -0,0 +1,89 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.IResourceProxyVisitor;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+import net.sf.eclipsecs.core.projectconfig.filters.IFilter;
+
+/**
+ * Collects the files of a project passing the filters, for a full build. The project is traversed
+ * with a proxy visitor and the filters are applied to the paths first: containers whose whole
+ * subtree is rejected are skipped, and resources are only created for files passing the path
+ * checks.
+ */
+final class FilteredFileCollector implements IResourceProxyVisitor {
+
+    /** The enabled filters. */
+    private final List<IFilter> mFilters;
+
+    /** The collected files. */
+    private final List<IResource> mFiles = new ArrayList<>();
+
+    private FilteredFileCollector(List<IFilter> filters) {
+        mFilters = filters.stream().filter(IFilter::isEnabled).toList();
+    }
+
+    /**
+     * Collects the files of a project passing the given filters.
+     *
+     * @param project
+     *            the project
+     * @param filters
+     *            the filters of the project configuration, disabled filters are ignored
+     * @return the files passing the filters
+     * @throws CoreException
+     *             error traversing the project
+     */
+    static List<IResource> collect(IProject project, List<IFilter> filters)
+            throws CoreException {
+        final FilteredFileCollector collector = new FilteredFileCollector(filters);
+        project.accept(collector, IResource.NONE);
+        return collector.mFiles;
+    }
+
+    @Override
+    public boolean visit(IResourceProxy proxy) {
+        boolean visitChildren = true;
+        if (proxy.getType() == IResource.FILE) {
+            final IPath path = proxy.requestFullPath();
+            if (mFilters.stream().noneMatch(filter -> filter.rejectsFile(path))) {
+                final IResource file = proxy.requestResource();
+                if (mFilters.stream().allMatch(filter -> filter.accept(file))) {
+                    mFiles.add(file);
+                }
+            }
+        }
+        else if (proxy.getType() != IResource.PROJECT) {
+            final IPath path = proxy.requestFullPath();
+            visitChildren = mFilters.stream().noneMatch(filter -> filter.rejectsSubtree(path));
+        }
+        return visitChildren;
+    }
+}
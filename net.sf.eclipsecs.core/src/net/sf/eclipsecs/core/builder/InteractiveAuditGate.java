@@ -0,0 +1,108 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * Gives interactive audits precedence over background audits. Interactive audits, i.e. audits of
+ * saved files or files opened in editors, register while they run. Before checking each file,
+ * background audits wait until no interactive audit is running, after yielding the scheduling rule
+ * of their job to interactive audits blocked by it. The markers queued by a background audit are
+ * written before its rule is yielded, so they never overwrite the markers of the interactive
+ * audit.
+ */
+public final class InteractiveAuditGate {
+
+    /** The interval in milliseconds a waiting background audit checks for cancellation. */
+    private static final long WAIT_INTERVAL = 100;
+
+    /** The lock guarding the number of running interactive audits. */
+    private static final Object LOCK = new Object();
+
+    /** The number of running interactive audits. */
+    private static int sRunningCount;
+
+    /**
+     * Hidden utility class constructor.
+     */
+    private InteractiveAuditGate() {
+        // noop
+    }
+
+    /**
+     * Registers a starting interactive audit. Each call must be followed by a call to
+     * {@link #leave()} once the audit finished.
+     */
+    public static void enter() {
+        synchronized (LOCK) {
+            sRunningCount++;
+        }
+    }
+
+    /**
+     * Deregisters a finished interactive audit.
+     */
+    public static void leave() {
+        synchronized (LOCK) {
+            sRunningCount--;
+            if (sRunningCount == 0) {
+                LOCK.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Lets a background audit give way to interactive audits. If the job of the audit blocks other
+     * jobs, the queued markers are written and the scheduling rule of the job is yielded to the
+     * blocked jobs first. Then the call blocks until no interactive audit is running.
+     *
+     * @param job
+     *            the job running the background audit, <code>null</code> if none
+     * @param markerWriter
+     *            the marker writer of the background audit
+     * @param monitor
+     *            the progress monitor of the background audit
+     * @throws OperationCanceledException
+     *             the thread was interrupted while waiting
+     */
+    static void giveWay(Job job, MarkerWriter markerWriter, IProgressMonitor monitor) {
+        // only the thread of the job can yield its rule
+        if (job != null && job == Job.getJobManager().currentJob() && job.isBlocking()) {
+            markerWriter.flush();
+            job.yieldRule(null);
+        }
+
+        synchronized (LOCK) {
+            while (sRunningCount > 0 && !monitor.isCanceled()) {
+                try {
+                    LOCK.wait(WAIT_INTERVAL);
+                }
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new OperationCanceledException();
+                }
+            }
+        }
+    }
+}
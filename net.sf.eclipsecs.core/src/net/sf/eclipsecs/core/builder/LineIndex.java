@@ -0,0 +1,120 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import java.util.Arrays;
+
+/**
+ * Compact index of the line positions of a text, used to compute marker offsets without creating a
+ * document. Lines are separated by <code>\n</code>, <code>\r</code> or <code>\r\n</code>, just like
+ * in Eclipse text documents.
+ */
+final class LineIndex {
+
+    /** The initial capacity for the line positions. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** The character offsets at which the lines start. */
+    private final int[] mLineStarts;
+
+    /** The character offsets at which the lines end, excluding the line delimiter. */
+    private final int[] mLineEnds;
+
+    private LineIndex(int[] lineStarts, int[] lineEnds) {
+        mLineStarts = lineStarts;
+        mLineEnds = lineEnds;
+    }
+
+    /**
+     * Creates the line index of a text.
+     *
+     * @param text
+     *            the text
+     * @return the line index
+     */
+    static LineIndex create(CharSequence text) {
+        int[] starts = new int[INITIAL_CAPACITY];
+        int[] ends = new int[INITIAL_CAPACITY];
+        int count = 0;
+        int start = 0;
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char ch = text.charAt(i);
+            final boolean crLf = ch == '\n' && i > 0 && start == i && text.charAt(i - 1) == '\r';
+            if (crLf) {
+                // second character of a \r\n delimiter
+                start = i + 1;
+            }
+            else if (ch == '\n' || ch == '\r') {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                    ends = Arrays.copyOf(ends, count * 2);
+                }
+                starts[count] = start;
+                ends[count] = i;
+                count++;
+                start = i + 1;
+            }
+        }
+
+        // the last line, empty if the text ends with a line delimiter
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count + 1);
+            ends = Arrays.copyOf(ends, count + 1);
+        }
+        starts[count] = start;
+        ends[count] = length;
+        count++;
+
+        return new LineIndex(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count));
+    }
+
+    /**
+     * Returns the number of lines.
+     *
+     * @return the number of lines
+     */
+    int getLineCount() {
+        return mLineStarts.length;
+    }
+
+    /**
+     * Returns the offset of a line.
+     *
+     * @param line
+     *            the zero based line number
+     * @return the character offset of the line start
+     */
+    int getLineOffset(int line) {
+        return mLineStarts[line];
+    }
+
+    /**
+     * Returns the length of a line, excluding the line delimiter.
+     *
+     * @param line
+     *            the zero based line number
+     * @return the length of the line
+     */
+    int getLineLength(int line) {
+        return mLineEnds[line] - mLineStarts[line];
+    }
+}
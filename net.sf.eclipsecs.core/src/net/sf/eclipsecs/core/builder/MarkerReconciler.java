@@ -0,0 +1,244 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceRuleFactory;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.MultiRule;
+
+import net.sf.eclipsecs.core.util.CheckstyleLog;
+
+/**
+ * Writes the markers of an audit by reconciling them with the existing Checkstyle markers. New
+ * violations are matched against existing markers by module, message key, line and column, so only
+ * markers of violations which actually changed get added, updated or removed. This keeps annotation
+ * models and the Problems view stable for unchanged violations.
+ */
+final class MarkerReconciler {
+
+    /** The marker attributes identifying a violation. */
+    private static final String[] IDENTITY_ATTRIBUTES = {
+        CheckstyleMarker.MODULE_NAME, CheckstyleMarker.MESSAGE_KEY, IMarker.LINE_NUMBER,
+        CheckstyleMarker.COLUMN_NUMBER,
+    };
+
+    /**
+     * Hidden utility class constructor.
+     */
+    private MarkerReconciler() {
+        // noop
+    }
+
+    /**
+     * Writes markers within a single workspace operation, so that only one resource change
+     * notification is fired for the whole batch. The operation runs under the marker rules of the
+     * written resources.
+     *
+     * @param reconciledResources
+     *            the resources whose existing Checkstyle markers are replaced by the given markers,
+     *            existing markers without a matching violation get removed
+     * @param violations
+     *            the violations per resource, markers for violations of resources not being
+     *            reconciled are added to the existing markers
+     */
+    static void writeMarkers(Set<IResource> reconciledResources,
+        Map<IResource, List<Violation>> violations) {
+        if (!reconciledResources.isEmpty() || !violations.isEmpty()) {
+            final IWorkspace workspace = ResourcesPlugin.getWorkspace();
+            try {
+                workspace.run(monitor -> writeMarkersInternal(reconciledResources, violations),
+                    getMarkerRule(workspace, reconciledResources, violations.keySet()),
+                    IWorkspace.AVOID_UPDATE, null);
+            }
+            catch (CoreException ex) {
+                CheckstyleLog.log(ex);
+            }
+        }
+    }
+
+    /**
+     * Removes the Checkstyle markers of a project in one batch, except the markers of the given
+     * resources.
+     *
+     * @param project
+     *            the project
+     * @param keptResources
+     *            the resources whose markers are kept
+     * @throws CoreException
+     *             error accessing the markers
+     */
+    static void deleteMarkersExcept(IProject project, Set<IResource> keptResources)
+            throws CoreException {
+        final List<IMarker> markers = new ArrayList<>();
+        for (IMarker marker : project.findMarkers(CheckstyleMarker.MARKER_ID, false,
+            IResource.DEPTH_INFINITE)) {
+            if (!keptResources.contains(marker.getResource())) {
+                markers.add(marker);
+            }
+        }
+        if (!markers.isEmpty()) {
+            project.getWorkspace().deleteMarkers(markers.toArray(new IMarker[0]));
+        }
+    }
+
+    /**
+     * Removes the Checkstyle markers of the given resources in one batch.
+     *
+     * @param project
+     *            the project of the resources
+     * @param resources
+     *            the resources whose markers are removed
+     * @throws CoreException
+     *             error accessing the markers
+     */
+    static void deleteMarkers(IProject project, Set<IResource> resources) throws CoreException {
+        final List<IMarker> markers = new ArrayList<>();
+        for (IResource resource : resources) {
+            if (resource.exists()) {
+                markers.addAll(Arrays.asList(
+                    resource.findMarkers(CheckstyleMarker.MARKER_ID, false, IResource.DEPTH_ZERO)));
+            }
+        }
+        if (!markers.isEmpty()) {
+            project.getWorkspace().deleteMarkers(markers.toArray(new IMarker[0]));
+        }
+    }
+
+    /**
+     * Returns the rule for changing the markers of the given resources. The rule comes from the
+     * rule factory of the workspace, so it never conflicts with the project rule the audit runs
+     * under, while the audit waits for its markers to be written.
+     *
+     * @param workspace
+     *            the workspace
+     * @param reconciledResources
+     *            the resources whose markers get reconciled
+     * @param violatedResources
+     *            the resources getting markers
+     * @return the rule, <code>null</code> if changing the markers needs no rule
+     */
+    private static ISchedulingRule getMarkerRule(IWorkspace workspace,
+        Set<IResource> reconciledResources, Set<IResource> violatedResources) {
+        final Set<IResource> resources = new HashSet<>(reconciledResources);
+        resources.addAll(violatedResources);
+
+        final IResourceRuleFactory ruleFactory = workspace.getRuleFactory();
+        ISchedulingRule rule = null;
+        for (IResource resource : resources) {
+            rule = MultiRule.combine(rule, ruleFactory.markerRule(resource));
+        }
+        return rule;
+    }
+
+    private static void writeMarkersInternal(Set<IResource> reconciledResources,
+        Map<IResource, List<Violation>> violations) throws CoreException {
+        for (IResource resource : reconciledResources) {
+            if (resource.exists()) {
+                reconcile(resource, violations.getOrDefault(resource, List.of()));
+            }
+        }
+        for (Map.Entry<IResource, List<Violation>> entry : violations.entrySet()) {
+            final IResource resource = entry.getKey();
+            if (resource.exists() && !reconciledResources.contains(resource)) {
+                for (Violation violation : entry.getValue()) {
+                    createMarker(resource, violation.toMarkerAttributes());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reconciles the existing markers of a resource with the new violations.
+     *
+     * @param resource
+     *            the resource
+     * @param violations
+     *            the new violations
+     * @throws CoreException
+     *             error accessing the markers
+     */
+    static void reconcile(IResource resource, List<Violation> violations)
+            throws CoreException {
+
+        // index the existing markers by the violation they represent
+        final Map<List<Object>, List<IMarker>> existingMarkers = new HashMap<>();
+        for (IMarker marker : resource.findMarkers(CheckstyleMarker.MARKER_ID, false,
+            IResource.DEPTH_ZERO)) {
+            existingMarkers.computeIfAbsent(getIdentity(marker.getAttributes(IDENTITY_ATTRIBUTES)),
+                key -> new ArrayList<>()).add(marker);
+        }
+
+        for (Violation violation : violations) {
+            final Map<String, Object> attributes = violation.toMarkerAttributes();
+            final List<IMarker> candidates = existingMarkers.get(getIdentity(attributes));
+            if (candidates == null || candidates.isEmpty()) {
+                createMarker(resource, attributes);
+            }
+            else {
+                final IMarker marker = candidates.remove(candidates.size() - 1);
+                if (!attributes.equals(marker.getAttributes())) {
+                    marker.setAttributes(attributes);
+                }
+            }
+        }
+
+        // remove the markers of violations which disappeared
+        final List<IMarker> staleMarkers = new ArrayList<>();
+        for (List<IMarker> candidates : existingMarkers.values()) {
+            staleMarkers.addAll(candidates);
+        }
+        if (!staleMarkers.isEmpty()) {
+            resource.getWorkspace().deleteMarkers(staleMarkers.toArray(new IMarker[0]));
+        }
+    }
+
+    private static void createMarker(IResource resource, Map<String, Object> attributes)
+            throws CoreException {
+        final IMarker marker = resource.createMarker(CheckstyleMarker.MARKER_ID);
+        marker.setAttributes(attributes);
+    }
+
+    private static List<Object> getIdentity(Map<String, Object> attributes) {
+        final Object[] identity = new Object[IDENTITY_ATTRIBUTES.length];
+        for (int i = 0; i < IDENTITY_ATTRIBUTES.length; i++) {
+            identity[i] = attributes.get(IDENTITY_ATTRIBUTES[i]);
+        }
+        return Arrays.asList(identity);
+    }
+
+    private static List<Object> getIdentity(Object[] attributeValues) {
+        return Arrays.asList(attributeValues);
+    }
+}
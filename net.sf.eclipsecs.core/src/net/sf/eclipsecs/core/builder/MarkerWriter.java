@@ -0,0 +1,204 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import net.sf.eclipsecs.core.util.CheckstyleLog;
+
+/**
+ * Marker writing stage of an audit. The audit listeners submit the violations of the checked files
+ * to a bounded queue, a task on a thread shared by all marker writers drains the queue and writes
+ * all markers queued up so far in one workspace operation. This way checking the next files
+ * overlaps with writing the markers of the previous ones, while a full queue blocks the checkers
+ * if marker writing falls behind.
+ */
+final class MarkerWriter {
+
+    /** The maximum number of submitted results waiting to be written. */
+    private static final int QUEUE_CAPACITY = 64;
+
+    /** The threads writing the markers, shared by all audits. */
+    private static final ExecutorService WRITER_THREADS = Executors.newCachedThreadPool(
+        Thread.ofPlatform().name("Checkstyle Marker Writer").daemon().factory());
+
+    /** Marks the end of the submitted results. */
+    private static final Result END = new Result(Set.of(), Map.of());
+
+    /** The queue of submitted results. */
+    private final BlockingQueue<Result> mQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    /** The task writing the markers. */
+    private final Future<?> mTask;
+
+    /** The lock guarding the counts of submitted and written results. */
+    private final Object mCountLock = new Object();
+
+    /** The number of submitted results. */
+    private long mSubmittedCount;
+
+    /** The number of written results. */
+    private long mWrittenCount;
+
+    /**
+     * Creates the marker writer and starts its writing task.
+     */
+    MarkerWriter() {
+        mTask = WRITER_THREADS.submit(this::writeResults);
+    }
+
+    /**
+     * Submits violations to be written as markers, waiting for space in the queue if necessary.
+     *
+     * @param reconciledResources
+     *            the resources whose markers get reconciled with the violations
+     * @param violations
+     *            the violations per resource
+     * @throws OperationCanceledException
+     *             the thread was interrupted while waiting
+     */
+    void submit(Set<IResource> reconciledResources, Map<IResource, List<Violation>> violations) {
+        if (!reconciledResources.isEmpty() || !violations.isEmpty()) {
+            put(new Result(reconciledResources, violations));
+            synchronized (mCountLock) {
+                mSubmittedCount++;
+            }
+        }
+    }
+
+    /**
+     * Waits until all violations submitted so far are written.
+     *
+     * @throws OperationCanceledException
+     *             the thread was interrupted while waiting
+     */
+    void flush() {
+        synchronized (mCountLock) {
+            while (mWrittenCount < mSubmittedCount) {
+                try {
+                    mCountLock.wait();
+                }
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new OperationCanceledException();
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits until all submitted violations are written and ends the writing task.
+     *
+     * @throws OperationCanceledException
+     *             the thread was interrupted while waiting
+     */
+    void close() {
+        put(END);
+        try {
+            mTask.get();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new OperationCanceledException();
+        }
+        catch (ExecutionException ex) {
+            CheckstyleLog.log(ex.getCause());
+        }
+    }
+
+    private void put(Result result) {
+        try {
+            mQueue.put(result);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new OperationCanceledException();
+        }
+    }
+
+    private void writeResults() {
+        final List<Result> results = new ArrayList<>();
+        boolean finished = false;
+        while (!finished) {
+            try {
+                results.add(mQueue.take());
+            }
+            catch (InterruptedException ex) {
+                // the writer must drain the queue so submitters never block forever
+                continue;
+            }
+            mQueue.drainTo(results);
+            finished = results.remove(END);
+            write(results);
+            synchronized (mCountLock) {
+                mWrittenCount += results.size();
+                mCountLock.notifyAll();
+            }
+            results.clear();
+        }
+    }
+
+    private static void write(List<Result> results) {
+        final Set<IResource> reconciledResources = new HashSet<>();
+        final Map<IResource, List<Violation>> violations = new HashMap<>();
+        for (Result result : results) {
+            reconciledResources.addAll(result.reconciledResources());
+            for (Map.Entry<IResource, List<Violation>> entry : result.violations().entrySet()) {
+                violations.computeIfAbsent(entry.getKey(), key -> new ArrayList<>())
+                    .addAll(entry.getValue());
+            }
+        }
+
+        try {
+            MarkerReconciler.writeMarkers(reconciledResources, violations);
+        }
+        catch (RuntimeException ex) {
+            // keep draining the queue, the checkers would block otherwise
+            CheckstyleLog.log(ex);
+        }
+    }
+
+    /**
+     * Violations to write as markers.
+     *
+     * @param reconciledResources
+     *            the resources whose markers get reconciled with the violations
+     * @param violations
+     *            the violations per resource
+     */
+    private record Result(Set<IResource> reconciledResources,
+        Map<IResource, List<Violation>> violations) {
+    }
+}
@@ -0,0 +1,206 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.osgi.service.prefs.BackingStoreException;
+
+import net.sf.eclipsecs.core.CheckstylePluginPrefs;
+import net.sf.eclipsecs.core.util.CheckstylePluginException;
+
+/**
+ * Collects the time spent in the Checkstyle modules during audits. Timing is switched on and off at
+ * runtime, checkers created while timing is disabled contain no instrumentation at all.
+ */
+public final class ModuleTimings {
+
+    /** The collected timings by module name. */
+    private static final Map<String, ModuleTiming> TIMINGS = new ConcurrentHashMap<>();
+
+    /**
+     * Hidden utility class constructor.
+     */
+    private ModuleTimings() {
+        // noop
+    }
+
+    /**
+     * Returns if the module timing is enabled.
+     *
+     * @return <code>true</code> if the modules of new checkers are timed
+     */
+    public static boolean isEnabled() {
+        return CheckstylePluginPrefs.getBoolean(CheckstylePluginPrefs.PREF_AUDIT_TIMINGS);
+    }
+
+    /**
+     * Switches the module timing on or off. The cached checkers are discarded, so the next audit
+     * uses checkers with or without instrumentation.
+     *
+     * @param enabled
+     *            <code>true</code> to enable the module timing
+     * @throws CheckstylePluginException
+     *             error storing the preference
+     */
+    public static void setEnabled(boolean enabled) throws CheckstylePluginException {
+        try {
+            CheckstylePluginPrefs.setBoolean(CheckstylePluginPrefs.PREF_AUDIT_TIMINGS, enabled);
+        }
+        catch (BackingStoreException ex) {
+            CheckstylePluginException.rethrow(ex);
+        }
+        CheckerFactory.invalidateCheckers();
+    }
+
+    /**
+     * Returns the timings collected so far, slowest modules first.
+     *
+     * @return the module timings
+     */
+    public static List<Timing> getTimings() {
+        final List<Timing> timings = new ArrayList<>();
+        for (Map.Entry<String, ModuleTiming> entry : TIMINGS.entrySet()) {
+            timings.add(entry.getValue().toTiming(entry.getKey()));
+        }
+        timings.sort(Comparator.comparingLong(Timing::totalNanos).reversed());
+        return timings;
+    }
+
+    /**
+     * Discards the timings collected so far.
+     */
+    public static void reset() {
+        TIMINGS.clear();
+    }
+
+    /**
+     * Returns the timings collected so far as JSON document.
+     *
+     * @return the JSON representation of the timings
+     */
+    public static String toJson() {
+        final StringBuilder json = new StringBuilder("[");
+        final List<Timing> timings = getTimings();
+        for (int i = 0; i < timings.size(); i++) {
+            final Timing timing = timings.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("\n  {\"module\": ").append(quote(timing.moduleName()))
+                .append(", \"totalNanos\": ").append(timing.totalNanos())
+                .append(", \"invocations\": ").append(timing.invocations())
+                .append(", \"slowestFile\": ").append(quote(timing.slowestFile()))
+                .append(", \"slowestNanos\": ").append(timing.slowestNanos()).append('}');
+        }
+        return json.append("\n]\n").toString();
+    }
+
+    /**
+     * Records the time a module spent on a file.
+     *
+     * @param moduleName
+     *            the name of the module
+     * @param file
+     *            the processed file or <code>null</code> if the time was spent after processing
+     *            all files
+     * @param nanos
+     *            the elapsed time in nanoseconds
+     */
+    static void record(String moduleName, String file, long nanos) {
+        TIMINGS.computeIfAbsent(moduleName, key -> new ModuleTiming()).record(file, nanos);
+    }
+
+    private static String quote(String value) {
+        String quoted = "null";
+        if (value != null) {
+            final StringBuilder builder = new StringBuilder("\"");
+            for (char ch : value.toCharArray()) {
+                if (ch == '"' || ch == '\\') {
+                    builder.append('\\').append(ch);
+                }
+                else if (ch < ' ') {
+                    builder.append(String.format("\\u%04x", (int) ch));
+                }
+                else {
+                    builder.append(ch);
+                }
+            }
+            quoted = builder.append('"').toString();
+        }
+        return quoted;
+    }
+
+    /**
+     * Snapshot of the time spent in a module.
+     *
+     * @param moduleName
+     *            the name of the module
+     * @param totalNanos
+     *            the cumulative time in nanoseconds
+     * @param invocations
+     *            the number of processed files
+     * @param slowestFile
+     *            the file the module spent the most time on, <code>null</code> if none
+     * @param slowestNanos
+     *            the time spent on the slowest file in nanoseconds
+     */
+    public record Timing(String moduleName, long totalNanos, long invocations, String slowestFile,
+        long slowestNanos) {
+    }
+
+    /**
+     * Mutable timing data of a module.
+     */
+    private static final class ModuleTiming {
+
+        /** The cumulative time. */
+        private long mTotalNanos;
+
+        /** The number of processed files. */
+        private long mInvocations;
+
+        /** The file processed the slowest. */
+        private String mSlowestFile;
+
+        /** The time spent on the slowest file. */
+        private long mSlowestNanos;
+
+        synchronized void record(String file, long nanos) {
+            mTotalNanos += nanos;
+            if (file != null) {
+                mInvocations++;
+                if (nanos > mSlowestNanos) {
+                    mSlowestNanos = nanos;
+                    mSlowestFile = file;
+                }
+            }
+        }
+
+        synchronized Timing toTiming(String moduleName) {
+            return new Timing(moduleName, mTotalNanos, mInvocations, mSlowestFile, mSlowestNanos);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+import net.sf.eclipsecs.core.config.ICheckConfiguration;
+import net.sf.eclipsecs.core.projectconfig.FileSet;
+import net.sf.eclipsecs.core.projectconfig.FileSetMatcher;
+import net.sf.eclipsecs.core.projectconfig.IProjectConfiguration;
+import net.sf.eclipsecs.core.projectconfig.filters.IFilter;
+
+/**
+ * Snapshot of the project configuration used by a build, together with the modification stamps of
+ * its check configurations. Comparing the snapshot of the previous build with the current one
+ * tells which files need to be audited again after the project configuration or a check
+ * configuration changed.
+ */
+final class ProjectConfigurationSnapshot {
+
+    /** The project configuration. */
+    private final IProjectConfiguration mConfiguration;
+
+    /** The modification stamps of the check configurations used by the enabled file sets. */
+    private final Map<ICheckConfiguration, Long> mModificationStamps;
+
+    /** The enabled file sets. */
+    private final List<FileSet> mFileSets;
+
+    /** The enabled filters. */
+    private final List<IFilter> mFilters;
+
+    /** The matcher of the enabled file sets, created on demand. */
+    private FileSetMatcher mMatcher;
+
+    private ProjectConfigurationSnapshot(IProjectConfiguration configuration) {
+        mConfiguration = configuration;
+        mFileSets = configuration.getFileSets().stream().filter(FileSet::isEnabled).toList();
+        mFilters = configuration.getFilters().stream().filter(IFilter::isEnabled).toList();
+        mModificationStamps = new HashMap<>();
+        for (FileSet fileSet : mFileSets) {
+            final ICheckConfiguration config = fileSet.getCheckConfig();
+            if (config != null) {
+                mModificationStamps.put(config, config.getType().getModificationStamp(config));
+            }
+        }
+    }
+
+    /**
+     * Takes the snapshot of a project configuration.
+     *
+     * @param configuration
+     *            the project configuration
+     * @return the snapshot
+     */
+    static ProjectConfigurationSnapshot take(IProjectConfiguration configuration) {
+        return new ProjectConfigurationSnapshot(configuration);
+    }
+
+    /**
+     * Determines whether a snapshot has the same configuration as this one. Check configurations
+     * whose modification cannot be probed are considered unchanged.
+     *
+     * @param other
+     *            the other snapshot
+     * @return <code>true</code> if the configurations are equal
+     */
+    boolean isEquivalent(ProjectConfigurationSnapshot other) {
+        return mConfiguration.equals(other.mConfiguration)
+            && mModificationStamps.equals(other.mModificationStamps);
+    }
+
+    /**
+     * Determines the files of a project whose file sets, check configurations or filter outcome
+     * differ between a previous snapshot and this one.
+     *
+     * @param project
+     *            the project
+     * @param previous
+     *            the snapshot of the previous build
+     * @param removedFiles
+     *            receives the changed files no longer audited with this configuration
+     * @return the changed files to audit with this configuration
+     * @throws CoreException
+     *             error traversing the project
+     */
+    Set<IResource> getChangedFiles(IProject project, ProjectConfigurationSnapshot previous,
+        Set<IResource> removedFiles) throws CoreException {
+        final Set<IResource> changedFiles = new HashSet<>();
+        project.accept(proxy -> visit(proxy, previous, changedFiles, removedFiles),
+            IResource.NONE);
+        return changedFiles;
+    }
+
+    private boolean visit(IResourceProxy proxy, ProjectConfigurationSnapshot previous,
+        Set<IResource> changedFiles, Set<IResource> removedFiles) {
+        boolean visitChildren = true;
+        if (proxy.getType() == IResource.FILE) {
+            // files rejected by the filters of both configurations are audited by neither
+            final IPath path = proxy.requestFullPath();
+            if (!isRejected(path) || !previous.isRejected(path)) {
+                collectChange((IFile) proxy.requestResource(), previous, changedFiles,
+                    removedFiles);
+            }
+        }
+        else if (proxy.getType() != IResource.PROJECT) {
+            // containers rejected by the filters of both configurations hold no changed files
+            final IPath path = proxy.requestFullPath();
+            visitChildren = isTraversed(path) || previous.isTraversed(path);
+        }
+        return visitChildren;
+    }
+
+    private void collectChange(IFile file, ProjectConfigurationSnapshot previous,
+        Set<IResource> changedFiles, Set<IResource> removedFiles) {
+        final Map<ICheckConfiguration, Long> assignment = getAssignment(file);
+        if (!assignment.equals(previous.getAssignment(file))) {
+            if (assignment.isEmpty()) {
+                removedFiles.add(file);
+            }
+            else {
+                changedFiles.add(file);
+            }
+        }
+    }
+
+    private boolean isRejected(IPath filePath) {
+        return mFilters.stream().anyMatch(filter -> filter.rejectsFile(filePath));
+    }
+
+    private boolean isTraversed(IPath containerPath) {
+        return mFilters.stream().noneMatch(filter -> filter.rejectsSubtree(containerPath));
+    }
+
+    /**
+     * Returns the check configurations a file is audited with, along with their modification
+     * stamps.
+     *
+     * @param file
+     *            the file
+     * @return the check configurations and their modification stamps, empty if the file is not
+     *         audited
+     */
+    private Map<ICheckConfiguration, Long> getAssignment(IFile file) {
+        final Map<ICheckConfiguration, Long> assignment = new HashMap<>();
+        if (mFilters.stream().allMatch(filter -> filter.accept(file))) {
+            if (mMatcher == null) {
+                mMatcher = FileSetMatcher.compile(mFileSets);
+            }
+            for (FileSet fileSet : mMatcher.getMatchingFileSets(file)) {
+                final ICheckConfiguration config = fileSet.getCheckConfig();
+                if (config != null) {
+                    assignment.put(config, mModificationStamps.get(config));
+                }
+            }
+        }
+        return assignment;
+    }
+}
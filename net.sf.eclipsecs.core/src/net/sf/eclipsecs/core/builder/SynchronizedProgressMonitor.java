@@ -0,0 +1,83 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * Progress monitor wrapper which can be shared by several audit worker threads. Progress monitors
+ * are generally not thread-safe, so all calls to the wrapped monitor are serialized.
+ */
+final class SynchronizedProgressMonitor implements IProgressMonitor {
+
+    /** The wrapped monitor. */
+    private final IProgressMonitor mDelegate;
+
+    /**
+     * Creates the wrapper.
+     *
+     * @param delegate
+     *            the monitor to wrap
+     */
+    SynchronizedProgressMonitor(IProgressMonitor delegate) {
+        mDelegate = delegate;
+    }
+
+    @Override
+    public synchronized void beginTask(String name, int totalWork) {
+        mDelegate.beginTask(name, totalWork);
+    }
+
+    @Override
+    public synchronized void done() {
+        mDelegate.done();
+    }
+
+    @Override
+    public synchronized void internalWorked(double work) {
+        mDelegate.internalWorked(work);
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return mDelegate.isCanceled();
+    }
+
+    @Override
+    public synchronized void setCanceled(boolean value) {
+        mDelegate.setCanceled(value);
+    }
+
+    @Override
+    public synchronized void setTaskName(String name) {
+        mDelegate.setTaskName(name);
+    }
+
+    @Override
+    public synchronized void subTask(String name) {
+        mDelegate.subTask(name);
+    }
+
+    @Override
+    public synchronized void worked(int work) {
+        mDelegate.worked(work);
+    }
+}
@@ -0,0 +1,179 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.stream.IntStream;
+
+import com.puppycrawl.tools.checkstyle.DefaultContext;
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+import com.puppycrawl.tools.checkstyle.utils.TokenUtil;
+
+/**
+ * Decorator measuring the time a TreeWalker check spends on each file. The TreeWalker only accepts
+ * checks it creates itself, so the decorator is created in place of the check and configures the
+ * decorated check on its own, just like the TreeWalker would.
+ */
+// -@cs[MatchXpath] the decorated check is handed the contents of the walked file
+final class TimedCheck extends AbstractCheck {
+
+    /** The decorated check. */
+    private final AbstractCheck mDelegate;
+
+    /** The configuration of the decorated check. */
+    private final Configuration mConfiguration;
+
+    /** The name the timings are recorded under. */
+    private final String mModuleName;
+
+    /** The time spent on the current file. */
+    private long mFileNanos;
+
+    /**
+     * Creates the decorator.
+     *
+     * @param delegate
+     *            the decorated check, not yet configured
+     * @param configuration
+     *            the configuration of the decorated check
+     */
+    TimedCheck(AbstractCheck delegate, Configuration configuration) {
+        mDelegate = delegate;
+        mConfiguration = configuration;
+        mModuleName = delegate.getClass().getSimpleName();
+    }
+
+    @Override
+    protected void finishLocalSetup() throws CheckstyleException {
+        final DefaultContext context = new DefaultContext();
+        context.add("severity", getSeverity());
+        context.add("tabWidth", String.valueOf(getTabWidth()));
+        mDelegate.contextualize(context);
+        mDelegate.configure(mConfiguration);
+
+        final int[] acceptableTokens = mDelegate.getAcceptableTokens();
+        Arrays.sort(acceptableTokens);
+        for (final String token : mDelegate.getTokenNames()) {
+            if (Arrays.binarySearch(acceptableTokens, TokenUtil.getTokenId(token)) < 0) {
+                throw new CheckstyleException("Token \"" + token
+                    + "\" was not found in Acceptable tokens list in check "
+                    + mDelegate.getClass().getName());
+            }
+        }
+    }
+
+    @Override
+    public int[] getDefaultTokens() {
+        // the decorator is registered for the tokens the decorated check is configured for
+        final Set<String> tokenNames = mDelegate.getTokenNames();
+        int[] tokens = mDelegate.getDefaultTokens();
+        if (!tokenNames.isEmpty()) {
+            tokens = IntStream.concat(Arrays.stream(mDelegate.getRequiredTokens()),
+                tokenNames.stream().mapToInt(TokenUtil::getTokenId)).distinct().toArray();
+        }
+        return tokens;
+    }
+
+    @Override
+    public int[] getAcceptableTokens() {
+        return mDelegate.getAcceptableTokens();
+    }
+
+    @Override
+    public int[] getRequiredTokens() {
+        return mDelegate.getRequiredTokens();
+    }
+
+    @Override
+    public boolean isCommentNodesRequired() {
+        return mDelegate.isCommentNodesRequired();
+    }
+
+    @Override
+    public void init() {
+        mDelegate.init();
+    }
+
+    @Override
+    public void destroy() {
+        mDelegate.destroy();
+    }
+
+    @Override
+    public SortedSet<Violation> getViolations() {
+        return mDelegate.getViolations();
+    }
+
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        mDelegate.setFileContents(getFileContents());
+        mDelegate.clearViolations();
+        mFileNanos = 0;
+
+        final long start = System.nanoTime();
+        try {
+            mDelegate.beginTree(rootAST);
+        }
+        finally {
+            mFileNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public void visitToken(DetailAST ast) {
+        final long start = System.nanoTime();
+        try {
+            mDelegate.visitToken(ast);
+        }
+        finally {
+            mFileNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public void leaveToken(DetailAST ast) {
+        final long start = System.nanoTime();
+        try {
+            mDelegate.leaveToken(ast);
+        }
+        finally {
+            mFileNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public void finishTree(DetailAST rootAST) {
+        final long start = System.nanoTime();
+        try {
+            mDelegate.finishTree(rootAST);
+        }
+        finally {
+            mFileNanos += System.nanoTime() - start;
+            ModuleTimings.record(mModuleName, getFilePath(), mFileNanos);
+        }
+    }
+}
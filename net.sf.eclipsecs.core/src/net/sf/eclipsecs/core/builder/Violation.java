@@ -0,0 +1,156 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IMarker;
+
+/**
+ * Compact record of a violation reported by an audit, turned into a Checkstyle marker when the
+ * markers get written.
+ *
+ * @param moduleName
+ *            the internal name of the reporting module
+ * @param messageKey
+ *            the key of the violation message
+ * @param moduleId
+ *            the id of the reporting module or <code>null</code>
+ * @param severity
+ *            the marker severity
+ * @param line
+ *            the line number
+ * @param column
+ *            the column number
+ * @param message
+ *            the message to show
+ * @param range
+ *            the text range of the marker or <code>null</code> if unknown
+ */
+record Violation(String moduleName, String messageKey, String moduleId, int severity, int line,
+    int column, String message, Range range) {
+
+    /**
+     * Creates the attributes of the marker representing this violation.
+     *
+     * @return the marker attributes
+     */
+    Map<String, Object> toMarkerAttributes() {
+        final Map<String, Object> attributes = new HashMap<>();
+        attributes.put(CheckstyleMarker.MODULE_NAME, moduleName);
+        attributes.put(CheckstyleMarker.MESSAGE_KEY, messageKey);
+        if (moduleId != null) {
+            attributes.put(CheckstyleMarker.MODULE_ID, moduleId);
+        }
+        attributes.put(IMarker.PRIORITY, Integer.valueOf(IMarker.PRIORITY_NORMAL));
+        attributes.put(IMarker.SEVERITY, Integer.valueOf(severity));
+        attributes.put(IMarker.LINE_NUMBER, Integer.valueOf(line));
+        attributes.put(CheckstyleMarker.COLUMN_NUMBER, Integer.valueOf(column));
+        attributes.put(IMarker.MESSAGE, message);
+        if (range != null) {
+            attributes.put(IMarker.CHAR_START, Integer.valueOf(range.start()));
+            attributes.put(IMarker.CHAR_END, Integer.valueOf(range.end()));
+        }
+
+        // enables own category under Java Problem Type
+        // setting for Problems view (RFE 1530366)
+        attributes.put("categoryId", CheckstyleMarker.CATEGORY_ID);
+        return attributes;
+    }
+
+    /**
+     * Writes the violation to a data output.
+     *
+     * @param output
+     *            the output
+     * @throws IOException
+     *             error writing the violation
+     */
+    void write(DataOutput output) throws IOException {
+        writeString(output, moduleName);
+        writeString(output, messageKey);
+        writeString(output, moduleId);
+        output.writeInt(severity);
+        output.writeInt(line);
+        output.writeInt(column);
+        writeString(output, message);
+        output.writeBoolean(range != null);
+        if (range != null) {
+            output.writeInt(range.start());
+            output.writeInt(range.end());
+        }
+    }
+
+    /**
+     * Reads a violation written by {@link #write(DataOutput)}.
+     *
+     * @param input
+     *            the input
+     * @return the violation
+     * @throws IOException
+     *             error reading the violation
+     */
+    static Violation read(DataInput input) throws IOException {
+        final String moduleName = readString(input);
+        final String messageKey = readString(input);
+        final String moduleId = readString(input);
+        final int severity = input.readInt();
+        final int line = input.readInt();
+        final int column = input.readInt();
+        final String message = readString(input);
+        Range range = null;
+        if (input.readBoolean()) {
+            range = new Range(input.readInt(), input.readInt());
+        }
+        return new Violation(moduleName, messageKey, moduleId, severity, line, column, message,
+            range);
+    }
+
+    private static void writeString(DataOutput output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput input) throws IOException {
+        String value = null;
+        if (input.readBoolean()) {
+            value = input.readUTF();
+        }
+        return value;
+    }
+
+    /**
+     * Character range of a violation within the file.
+     *
+     * @param start
+     *            the offset the marker starts at
+     * @param end
+     *            the offset the marker ends at
+     */
+    record Range(int start, int end) {
+    }
+}
@@ -67,6 +67,9 @@ public class CheckConfiguration extends AbstractCheckConfiguration {
     /** Time stamp when the cached configuration file data expires. */
     private Instant mExpirationTime;
 
+    /** The probed modification stamp of the cached configuration file data. */
+    private long mModificationStamp;
+
     /**
      * Creates a check configuration instance.
      *
@@ -160,15 +163,25 @@ public class CheckConfiguration extends AbstractCheckConfiguration {
             throws CheckstylePluginException {
         final Instant currentTime = Instant.now();
 
-        if (mCheckstyleConfigurationFile == null || currentTime.isAfter(mExpirationTime)) {
+        // revalidate using the modification stamp if the configuration type can probe it cheaply,
+        // otherwise the cached data expires after 1 hour
+        final long modificationStamp = getType().getModificationStamp(this);
+
+        if (mCheckstyleConfigurationFile == null || isStale(modificationStamp, currentTime)) {
             mCheckstyleConfigurationFile = getType().getCheckstyleConfiguration(this);
-            // 1 hour
+            mModificationStamp = modificationStamp;
             mExpirationTime = currentTime.plus(1, ChronoUnit.HOURS);
         }
 
         return mCheckstyleConfigurationFile;
     }
 
+    private boolean isStale(long modificationStamp, Instant currentTime) {
+        return modificationStamp == IConfigurationType.UNKNOWN_MODIFICATION_STAMP
+            ? currentTime.isAfter(mExpirationTime)
+            : modificationStamp != mModificationStamp;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (obj == null || !(obj instanceof ICheckConfiguration)) {
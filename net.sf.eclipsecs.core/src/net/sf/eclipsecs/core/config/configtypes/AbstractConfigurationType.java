@@ -26,6 +26,8 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -155,6 +157,52 @@ public abstract class AbstractConfigurationType implements IConfigurationType {
         return data;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * For local configuration files the stamp combines the modification times of the
+     * configuration file and of its additional properties bundle, so editing, adding or removing
+     * the bundle changes the stamp as well.
+     * </p>
+     */
+    @Override
+    public long getModificationStamp(ICheckConfiguration checkConfiguration) {
+        long modificationStamp = UNKNOWN_MODIFICATION_STAMP;
+        try {
+            final URL location = resolveLocation(checkConfiguration);
+            if (location != null && "file".equals(location.getProtocol())) {
+                final long bundleStamp =
+                    getFileModificationStamp(getAdditionalPropertiesBundleURL(location));
+                modificationStamp = Objects.hash(
+                    Files.getLastModifiedTime(Path.of(location.toURI())).toMillis(), bundleStamp);
+            }
+        }
+        catch (IOException | URISyntaxException | IllegalArgumentException ex) {
+            // reading the configuration reports the problem
+        }
+        return modificationStamp;
+    }
+
+    /**
+     * Returns the modification time of an optional local file.
+     *
+     * @param location
+     *            the location of the file
+     * @return the modification time or <code>0</code> if the file does not exist
+     * @throws URISyntaxException
+     *             if the location cannot be converted to a path
+     */
+    private static long getFileModificationStamp(URL location) throws URISyntaxException {
+        long stamp = 0;
+        try {
+            stamp = Files.getLastModifiedTime(Path.of(location.toURI())).toMillis();
+        }
+        catch (IOException ex) {
+            // the file does not exist
+        }
+        return stamp;
+    }
+
     /**
      * Retrieves the bytes of an additional properties bundle associated with the Checkstyle
      * configuration.
@@ -169,6 +217,32 @@ public abstract class AbstractConfigurationType implements IConfigurationType {
      *         loaded
      */
     protected Optional<byte[]> getAdditionPropertiesBundleBytes(URL checkConfigURL) {
+        Optional<byte[]> bytes = Optional.empty();
+        try {
+            final URL propertyFileURL = getAdditionalPropertiesBundleURL(checkConfigURL);
+            final URLConnection connection = propertyFileURL.openConnection();
+
+            bytes = Optional.of(getBytesFromURLConnection(connection));
+        }
+        catch (IOException ex) {
+            // we won't load the bundle then
+            // disabled logging bug #1647602
+            // CheckstyleLog.log(ioe);
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the URL of the additional properties bundle associated with the Checkstyle
+     * configuration, that is the configuration URL with a <code>.properties</code> extension.
+     *
+     * @param checkConfigURL
+     *            the URL of the Checkstyle configuration file
+     * @return the URL of the properties bundle
+     * @throws IOException
+     *             if the URL of the properties bundle is malformed
+     */
+    protected URL getAdditionalPropertiesBundleURL(URL checkConfigURL) throws IOException {
         final String location = checkConfigURL.toString();
 
         // Strip file extension
@@ -183,19 +257,7 @@ public abstract class AbstractConfigurationType implements IConfigurationType {
 
         propsLocation = propsLocation + ".properties";
 
-        Optional<byte[]> bytes = Optional.empty();
-        try {
-            final URL propertyFileURL = URI.create(propsLocation).toURL();
-            final URLConnection connection = propertyFileURL.openConnection();
-
-            bytes = Optional.of(getBytesFromURLConnection(connection));
-        }
-        catch (IOException ex) {
-            // we won't load the bundle then
-            // disabled logging bug #1647602
-            // CheckstyleLog.log(ioe);
-        }
-        return bytes;
+        return URI.create(propsLocation).toURL();
     }
 
     /**
@@ -62,6 +62,14 @@ public class BuiltInConfigurationType extends AbstractConfigurationType {
         return locationUrl;
     }
 
+    @Override
+    public long getModificationStamp(ICheckConfiguration checkConfiguration) {
+        // built-in configurations only change with the contributing bundle
+        final Bundle contributor = Platform
+            .getBundle(checkConfiguration.getAdditionalData().get(CONTRIBUTOR_KEY));
+        return contributor != null ? contributor.getLastModified() : UNKNOWN_MODIFICATION_STAMP;
+    }
+
     @Override
     protected Optional<byte[]> getAdditionPropertiesBundleBytes(URL checkConfigURL) {
         // just returns empty since additional property file is not needed nor
@@ -32,6 +32,9 @@ import net.sf.eclipsecs.core.util.CheckstylePluginException;
  */
 public interface IConfigurationType {
 
+    /** Modification stamp of configurations whose modification cannot be probed cheaply. */
+    long UNKNOWN_MODIFICATION_STAMP = -1;
+
     /**
      * Initializes the configuration type.
      *
@@ -127,4 +130,19 @@ public interface IConfigurationType {
      */
     CheckstyleConfigurationFile getCheckstyleConfiguration(ICheckConfiguration checkConfiguration)
             throws CheckstylePluginException;
+
+    /**
+     * Returns a cheap freshness probe for the Checkstyle configuration file, e.g. a file
+     * modification time or a bundle version, without reading the configuration. The stamp changes
+     * whenever the configuration changes, so cached configuration data can be revalidated on every
+     * build.
+     *
+     * @param checkConfiguration
+     *            the check configuration
+     * @return the modification stamp or {@link #UNKNOWN_MODIFICATION_STAMP} if the modification
+     *         cannot be determined without reading the configuration
+     */
+    default long getModificationStamp(ICheckConfiguration checkConfiguration) {
+        return UNKNOWN_MODIFICATION_STAMP;
+    }
 }
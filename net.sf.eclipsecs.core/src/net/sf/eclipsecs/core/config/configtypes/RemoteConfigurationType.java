@@ -30,7 +30,6 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.UnknownHostException;
-import java.nio.file.Files;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
@@ -50,6 +49,7 @@ import net.sf.eclipsecs.core.CheckstylePlugin;
 import net.sf.eclipsecs.core.Messages;
 import net.sf.eclipsecs.core.config.CheckstyleConfigurationFile;
 import net.sf.eclipsecs.core.config.ICheckConfiguration;
+import net.sf.eclipsecs.core.config.configtypes.RemoteResourceCache.RemoteResource;
 import net.sf.eclipsecs.core.util.CheckstyleLog;
 import net.sf.eclipsecs.core.util.CheckstylePluginException;
 
@@ -105,25 +105,22 @@ public class RemoteConfigurationType extends AbstractConfigurationType {
             try {
                 System.setProperty(KEY_MAX_REDIRECTS, "3");
 
-                final URLConnection connection = data.getResolvedConfigFileURL().openConnection();
-
-                final RemoteConfigAuthenticator auth =
-                    RemoteConfigAuthenticator.create(data.getResolvedConfigFileURL());
-                if (auth != null) {
-                    connection.setRequestProperty("Authorization", auth.basicAuthHeaderValue);
-                }
-
-                // get the configuration file data
-                configurationFileData = getBytesFromURLConnection(connection);
+                // get the configuration file data, conditionally if it was fetched before
+                final RemoteResource resource = fetch(data.getResolvedConfigFileURL(),
+                    RemoteConfigAuthenticator.create(data.getResolvedConfigFileURL()),
+                    getCacheFile(checkConfiguration, KEY_CACHE_FILE_LOCATION, useCacheFile),
+                    checkConfiguration);
+                configurationFileData = resource.bytes();
 
                 // get last modification timestamp
-                data.setModificationStamp(connection.getLastModified());
+                data.setModificationStamp(resource.getModificationStamp());
 
                 originalFileSuccess = true;
             }
             catch (IOException exception) {
                 if (useCacheFile) {
                     configurationFileData = getBytesFromCacheFile(checkConfiguration);
+                    logFetchFailed(exception, data.getResolvedConfigFileURL(), checkConfiguration);
                 }
                 else {
                     throw exception;
@@ -139,12 +136,6 @@ public class RemoteConfigurationType extends AbstractConfigurationType {
             // get the property resolver
             data.setPropertyResolver(getPropertyResolver(checkConfiguration, data));
 
-            // write to cache file
-            if (originalFileSuccess && useCacheFile) {
-                writeToCacheFile(checkConfiguration, configurationFileData,
-                    additionalPropertiesBytes.orElse(null));
-            }
-
         }
         catch (UnknownHostException exception) {
             CheckstylePluginException.rethrow(exception, NLS
@@ -172,15 +163,118 @@ public class RemoteConfigurationType extends AbstractConfigurationType {
     private Optional<byte[]> getPropertiesBundle(boolean originalFileSuccess, boolean useCacheFile,
         CheckstyleConfigurationFile data, ICheckConfiguration checkConfiguration) {
         Optional<byte[]> bundle = Optional.empty();
+        URL bundleURL = null;
+        IOException fetchError = null;
         if (originalFileSuccess) {
-            bundle = getAdditionPropertiesBundleBytes(data.getResolvedConfigFileURL());
+            try {
+                bundleURL = getAdditionalPropertiesBundleURL(data.getResolvedConfigFileURL());
+                bundle = Optional.of(fetch(bundleURL, null,
+                    getCacheFile(checkConfiguration, KEY_CACHE_PROPS_FILE_LOCATION, useCacheFile),
+                    checkConfiguration).bytes());
+            }
+            catch (FileNotFoundException | IllegalArgumentException ex) {
+                // the configuration has no bundle then
+            }
+            catch (IOException ex) {
+                fetchError = ex;
+            }
         }
-        if (useCacheFile) {
+        if (bundle.isEmpty() && useCacheFile) {
             bundle = getBytesFromCacheBundleFile(checkConfiguration);
+
+            // a stale bundle may resolve properties differently than the remote one
+            if (bundle.isPresent() && fetchError != null) {
+                logFetchFailed(fetchError, bundleURL, checkConfiguration);
+            }
         }
         return bundle;
     }
 
+    /**
+     * Logs that a remote resource could not be fetched and its cached copy is used instead.
+     *
+     * @param error
+     *            the error fetching the resource
+     * @param url
+     *            the URL of the resource
+     * @param checkConfig
+     *            the check configuration
+     */
+    private static void logFetchFailed(IOException error, URL url,
+        ICheckConfiguration checkConfig) {
+        CheckstyleLog.log(error, NLS.bind(Messages.RemoteConfigurationType_msgRemoteFetchFailed,
+            url, checkConfig.getName()));
+    }
+
+    /**
+     * Fetches a remote resource. If the resource was fetched before, the request is made
+     * conditional on the validators of the cached resource, and the cached resource is served if
+     * the server answers with <code>304 Not Modified</code>.
+     *
+     * @param url
+     *            the URL of the resource
+     * @param auth
+     *            the authentication or <code>null</code>
+     * @param cacheFile
+     *            the file to cache the resource to or <code>null</code> if not cached to a file
+     * @param checkConfig
+     *            the check configuration
+     * @return the fetched resource
+     * @throws IOException
+     *             error fetching the resource
+     */
+    RemoteResource fetch(URL url, RemoteConfigAuthenticator auth, File cacheFile,
+        ICheckConfiguration checkConfig) throws IOException {
+
+        final RemoteResource cached = RemoteResourceCache.get(url, cacheFile);
+
+        final URLConnection connection = url.openConnection();
+        if (auth != null) {
+            connection.setRequestProperty("Authorization", auth.basicAuthHeaderValue);
+        }
+        if (cached != null) {
+            cached.addConditionalHeaders(connection);
+        }
+
+        final byte[] bytes = getBytesFromURLConnection(connection);
+
+        RemoteResource resource = cached;
+        if (cached == null || !RemoteResourceCache.isNotModified(connection)) {
+            resource = RemoteResource.create(connection, bytes);
+            try {
+                RemoteResourceCache.put(url, resource, cacheFile);
+            }
+            catch (IOException ex) {
+                CheckstyleLog.log(ex,
+                    NLS.bind(Messages.RemoteConfigurationType_msgRemoteCachingFailed,
+                        checkConfig.getName(), checkConfig.getLocation()));
+            }
+        }
+        return resource;
+    }
+
+    /**
+     * Returns a cache file of a check configuration within the plugin state location.
+     *
+     * @param checkConfig
+     *            the check configuration
+     * @param locationKey
+     *            the key of the cache file location in the additional data
+     * @param useCacheFile
+     *            if the configuration is cached to a file
+     * @return the cache file or <code>null</code> if the configuration is not cached to a file
+     */
+    private static File getCacheFile(ICheckConfiguration checkConfig, String locationKey,
+        boolean useCacheFile) {
+        File cacheFile = null;
+        final String cacheFileLocation = checkConfig.getAdditionalData().get(locationKey);
+        if (useCacheFile && cacheFileLocation != null) {
+            cacheFile =
+                CheckstylePlugin.getDefault().getStateLocation().append(cacheFileLocation).toFile();
+        }
+        return cacheFile;
+    }
+
     @Override
     protected URL resolveLocation(ICheckConfiguration checkConfiguration) throws IOException {
         return new URL(checkConfiguration.getLocation());
@@ -198,14 +292,21 @@ public class RemoteConfigurationType extends AbstractConfigurationType {
         final boolean useCacheFile =
             Boolean.parseBoolean(checkConfiguration.getAdditionalData().get(KEY_CACHE_CONFIG));
 
-        if (useCacheFile) {
-            // remove the cached configuration file from the workspace metadata
-            final String cacheFileLocation =
-                checkConfiguration.getAdditionalData().get(KEY_CACHE_FILE_LOCATION);
+        // forget the cached resources and their validators
+        final File cacheFile =
+            getCacheFile(checkConfiguration, KEY_CACHE_FILE_LOCATION, useCacheFile);
+        final URL configURL = checkConfiguration.getResolvedConfigurationFileURL();
+        RemoteResourceCache.remove(configURL, cacheFile);
+        try {
+            RemoteResourceCache.remove(getAdditionalPropertiesBundleURL(configURL),
+                getCacheFile(checkConfiguration, KEY_CACHE_PROPS_FILE_LOCATION, useCacheFile));
+        }
+        catch (IOException | IllegalArgumentException ex) {
+            // there is no bundle then
+        }
 
-            IPath cacheFilePath = CheckstylePlugin.getDefault().getStateLocation();
-            cacheFilePath = cacheFilePath.append(cacheFileLocation);
-            final File cacheFile = cacheFilePath.toFile();
+        if (cacheFile != null) {
+            // remove the cached configuration file from the workspace metadata
             cacheFile.delete();
         }
     }
@@ -268,42 +369,6 @@ public class RemoteConfigurationType extends AbstractConfigurationType {
         return bytes;
     }
 
-    private void writeToCacheFile(ICheckConfiguration checkConfig, byte[] configFileBytes,
-        byte[] bundleBytes) {
-
-        final String cacheFileLocation =
-            checkConfig.getAdditionalData().get(KEY_CACHE_FILE_LOCATION);
-
-        IPath cacheFilePath = CheckstylePlugin.getDefault().getStateLocation();
-        cacheFilePath = cacheFilePath.append(cacheFileLocation);
-        final File cacheFile = cacheFilePath.toFile();
-
-        try {
-            Files.write(cacheFile.toPath(), configFileBytes);
-        }
-        catch (IOException ex) {
-            CheckstyleLog.log(ex, NLS.bind(Messages.RemoteConfigurationType_msgRemoteCachingFailed,
-                checkConfig.getName(), checkConfig.getLocation()));
-        }
-
-        if (bundleBytes != null) {
-
-            final String propsCacheFileLocation =
-                checkConfig.getAdditionalData().get(KEY_CACHE_PROPS_FILE_LOCATION);
-
-            IPath propsCacheFilePath = CheckstylePlugin.getDefault().getStateLocation();
-            propsCacheFilePath = propsCacheFilePath.append(propsCacheFileLocation);
-            final File propsCacheFile = propsCacheFilePath.toFile();
-
-            try {
-                Files.write(propsCacheFile.toPath(), bundleBytes);
-            }
-            catch (IOException ex) {
-                // ignore this since there simply might be no properties file
-            }
-        }
-    }
-
     @Override
     protected byte[] getBytesFromURLConnection(URLConnection connection) throws IOException {
         // set timeouts - bug 2941010
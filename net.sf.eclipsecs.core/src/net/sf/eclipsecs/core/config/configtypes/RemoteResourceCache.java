@@ -0,0 +1,240 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.config.configtypes;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of remotely fetched resources along with their HTTP validators (<code>ETag</code> and
+ * <code>Last-Modified</code>), so unchanged resources can be fetched with a conditional request.
+ * The resources are kept in memory by URL. If the remote configuration is cached to a file, the
+ * validators are stored in a file next to the cache file, so they survive a restart.
+ */
+final class RemoteResourceCache {
+
+    /** The suffix of the file storing the validators of a cache file. */
+    private static final String VALIDATORS_SUFFIX = ".validators";
+
+    /** Key of the entity tag in the validators file. */
+    private static final String KEY_ETAG = "etag";
+
+    /** Key of the last modification time in the validators file. */
+    private static final String KEY_LAST_MODIFIED = "last-modified";
+
+    /** The cached resources by URL. */
+    private static final Map<String, RemoteResource> RESOURCES = new ConcurrentHashMap<>();
+
+    /**
+     * Hidden utility class constructor.
+     */
+    private RemoteResourceCache() {
+        // noop
+    }
+
+    /**
+     * Returns the cached resource of an URL. If the resource is not cached in memory, it is read
+     * from the cache file. A resource cached to a file is only served while the file exists, so
+     * the file gets written again otherwise.
+     *
+     * @param url
+     *            the URL of the resource
+     * @param cacheFile
+     *            the cache file of the resource or <code>null</code> if not cached to a file
+     * @return the cached resource or <code>null</code> if the resource is not cached or has no
+     *         validators
+     */
+    static RemoteResource get(URL url, File cacheFile) {
+        RemoteResource resource = null;
+        if (cacheFile == null) {
+            resource = RESOURCES.get(url.toString());
+        }
+        else if (cacheFile.isFile() && getValidatorsFile(cacheFile).isFile()) {
+            resource = RESOURCES.get(url.toString());
+            if (resource == null) {
+                resource = readCacheFile(cacheFile);
+            }
+        }
+        return resource;
+    }
+
+    /**
+     * Caches a fetched resource.
+     *
+     * @param url
+     *            the URL of the resource
+     * @param resource
+     *            the fetched resource
+     * @param cacheFile
+     *            the file to cache the resource to or <code>null</code> if not cached to a file
+     * @throws IOException
+     *             error writing the cache file
+     */
+    static void put(URL url, RemoteResource resource, File cacheFile) throws IOException {
+        if (resource.hasValidators()) {
+            RESOURCES.put(url.toString(), resource);
+        }
+        else {
+            RESOURCES.remove(url.toString());
+        }
+
+        if (cacheFile != null) {
+            Files.write(cacheFile.toPath(), resource.bytes());
+
+            final File validatorsFile = getValidatorsFile(cacheFile);
+            if (resource.hasValidators()) {
+                final Properties validators = new Properties();
+                if (resource.etag() != null) {
+                    validators.setProperty(KEY_ETAG, resource.etag());
+                }
+                validators.setProperty(KEY_LAST_MODIFIED, Long.toString(resource.lastModified()));
+                try (OutputStream out = Files.newOutputStream(validatorsFile.toPath())) {
+                    validators.store(out, null);
+                }
+            }
+            else {
+                Files.deleteIfExists(validatorsFile.toPath());
+            }
+        }
+    }
+
+    /**
+     * Removes a resource from the cache.
+     *
+     * @param url
+     *            the URL of the resource
+     * @param cacheFile
+     *            the cache file of the resource or <code>null</code> if not cached to a file
+     */
+    static void remove(URL url, File cacheFile) {
+        RESOURCES.remove(url.toString());
+        if (cacheFile != null) {
+            getValidatorsFile(cacheFile).delete();
+        }
+    }
+
+    /**
+     * Checks if a connection was answered with <code>304 Not Modified</code>, meaning the cached
+     * resource is still current.
+     *
+     * @param connection
+     *            the connected connection
+     * @return <code>true</code> if the resource was not modified
+     * @throws IOException
+     *             error reading the response
+     */
+    static boolean isNotModified(URLConnection connection) throws IOException {
+        return connection instanceof HttpURLConnection
+            && ((HttpURLConnection) connection)
+                .getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED;
+    }
+
+    private static RemoteResource readCacheFile(File cacheFile) {
+        RemoteResource resource = null;
+        try (InputStream in = Files.newInputStream(getValidatorsFile(cacheFile).toPath())) {
+            final Properties validators = new Properties();
+            validators.load(in);
+            resource = new RemoteResource(Files.readAllBytes(cacheFile.toPath()),
+                validators.getProperty(KEY_ETAG),
+                Long.parseLong(validators.getProperty(KEY_LAST_MODIFIED, "0")));
+        }
+        catch (IOException | NumberFormatException ex) {
+            // fetch the resource unconditionally then
+        }
+        return resource;
+    }
+
+    private static File getValidatorsFile(File cacheFile) {
+        return new File(cacheFile.getPath() + VALIDATORS_SUFFIX);
+    }
+
+    /**
+     * A fetched resource with its validators.
+     *
+     * @param bytes
+     *            the content of the resource
+     * @param etag
+     *            the entity tag or <code>null</code> if the server sent none
+     * @param lastModified
+     *            the last modification time or <code>0</code> if the server sent none
+     */
+    record RemoteResource(byte[] bytes, String etag, long lastModified) {
+
+        /**
+         * Creates the resource from the response of a connection.
+         *
+         * @param connection
+         *            the connection
+         * @param bytes
+         *            the content read from the connection
+         * @return the resource
+         */
+        static RemoteResource create(URLConnection connection, byte[] bytes) {
+            return new RemoteResource(bytes, connection.getHeaderField("ETag"),
+                connection.getLastModified());
+        }
+
+        /**
+         * Checks if the resource can be revalidated with a conditional request.
+         *
+         * @return <code>true</code> if the server sent validators
+         */
+        boolean hasValidators() {
+            return etag != null || lastModified != 0;
+        }
+
+        /**
+         * Makes the request of a connection conditional, so the server answers with
+         * <code>304 Not Modified</code> if this resource is still current.
+         *
+         * @param connection
+         *            the unconnected connection
+         */
+        void addConditionalHeaders(URLConnection connection) {
+            if (etag != null) {
+                connection.setRequestProperty("If-None-Match", etag);
+            }
+            if (lastModified != 0) {
+                connection.setIfModifiedSince(lastModified);
+            }
+        }
+
+        /**
+         * Returns the modification stamp of the resource. Without a last modification time the
+         * stamp is derived from the content, so changed content still gets a new stamp.
+         *
+         * @return the modification stamp
+         */
+        long getModificationStamp() {
+            return lastModified != 0 ? lastModified : Arrays.hashCode(bytes);
+        }
+    }
+}
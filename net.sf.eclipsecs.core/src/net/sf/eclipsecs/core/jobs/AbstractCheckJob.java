@@ -21,13 +21,12 @@
 package net.sf.eclipsecs.core.jobs;
 
 import org.eclipse.core.resources.WorkspaceJob;
-import org.eclipse.core.runtime.jobs.ISchedulingRule;
 
 /**
- * Super class of all jobs that invoke Checkstyle. Avoids concurrent invocations and styles the
- * progress UI.
+ * Super class of all jobs that invoke Checkstyle. Styles the progress UI, concurrent audits of the
+ * same project are avoided by the scheduling rules of the jobs.
  */
-public abstract class AbstractCheckJob extends WorkspaceJob implements ISchedulingRule {
+public abstract class AbstractCheckJob extends WorkspaceJob {
     /**
      * The job family marker is used by the progress service to provide different icons.
      */
@@ -37,11 +36,6 @@ public abstract class AbstractCheckJob extends WorkspaceJob implements IScheduli
         super(name);
     }
 
-    @Override
-    public final boolean isConflicting(ISchedulingRule rule) {
-        return rule instanceof AbstractCheckJob;
-    }
-
     @Override
     public boolean belongsTo(Object family) {
         return CHECKSTYLE_JOB_FAMILY.equals(family) || super.belongsTo(family);
@@ -0,0 +1,152 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.jobs;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.IJobChangeListener;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.osgi.util.NLS;
+
+import net.sf.eclipsecs.core.CheckstylePluginPrefs;
+import net.sf.eclipsecs.core.Messages;
+
+/**
+ * Schedules the Checkstyle audit jobs of the workspace. Audits of independent projects run in
+ * parallel, up to a global limit sized from the available processors, while the scheduling rules
+ * of the jobs keep audits and builds of the same project from running at the same time. Audits
+ * waiting to run show their position in the queue in their job name, so the queue can be followed
+ * in the progress view.
+ */
+public final class AuditScheduler {
+
+    /** The audits waiting to run in the order they were scheduled, with their original names. */
+    private static final Map<Job, String> QUEUED_JOBS = new LinkedHashMap<>();
+
+    /** Removes the audits from the queue once they start running or are canceled. */
+    private static final IJobChangeListener QUEUE_LISTENER = new JobChangeAdapter() {
+
+        @Override
+        public void running(IJobChangeEvent event) {
+            dequeue(event.getJob());
+        }
+
+        @Override
+        public void done(IJobChangeEvent event) {
+            dequeue(event.getJob());
+        }
+    };
+
+    /** The job group limiting the number of concurrently running audits. */
+    private static JobGroup sJobGroup;
+
+    /**
+     * Hidden utility class constructor.
+     */
+    private AuditScheduler() {
+        // noop
+    }
+
+    /**
+     * Schedules an audit job. Interactive jobs are not subject to the concurrency limit, so they
+     * never queue up behind background audits.
+     *
+     * @param job
+     *            the audit job
+     */
+    public static void schedule(AbstractCheckJob job) {
+        if (job.getPriority() != Job.INTERACTIVE) {
+            job.setJobGroup(getJobGroup());
+            enqueue(job);
+        }
+        job.schedule();
+    }
+
+    /**
+     * Applies a changed concurrency limit to audits scheduled from now on.
+     */
+    public static synchronized void reconfigure() {
+        sJobGroup = null;
+    }
+
+    /**
+     * Returns the maximum number of audits running concurrently.
+     *
+     * @return the concurrency limit
+     */
+    public static int getConcurrencyLimit() {
+        final int limit =
+            CheckstylePluginPrefs.getInt(CheckstylePluginPrefs.PREF_AUDIT_CONCURRENCY);
+        return limit > 0 ? limit : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Adds an audit to the queue of waiting audits.
+     *
+     * @param job
+     *            the audit job
+     */
+    private static synchronized void enqueue(Job job) {
+        QUEUED_JOBS.put(job, job.getName());
+        job.addJobChangeListener(QUEUE_LISTENER);
+        updateQueuedNames();
+    }
+
+    /**
+     * Removes an audit from the queue of waiting audits and restores its name.
+     *
+     * @param job
+     *            the audit job
+     */
+    private static synchronized void dequeue(Job job) {
+        final String name = QUEUED_JOBS.remove(job);
+        if (name != null) {
+            job.removeJobChangeListener(QUEUE_LISTENER);
+            job.setName(name);
+            updateQueuedNames();
+        }
+    }
+
+    /**
+     * Names the waiting audits by their position in the queue.
+     */
+    private static void updateQueuedNames() {
+        final Integer size = Integer.valueOf(QUEUED_JOBS.size());
+        int position = 0;
+        for (Map.Entry<Job, String> entry : QUEUED_JOBS.entrySet()) {
+            position++;
+            entry.getKey().setName(NLS.bind(Messages.AuditScheduler_msgQueued, new Object[] {
+                entry.getValue(), Integer.valueOf(position), size,
+            }));
+        }
+    }
+
+    private static synchronized JobGroup getJobGroup() {
+        if (sJobGroup == null) {
+            sJobGroup = new JobGroup(Messages.AuditScheduler_name, getConcurrencyLimit(), 0);
+        }
+        return sJobGroup;
+    }
+}
@@ -25,7 +25,6 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.osgi.util.NLS;
 
 import net.sf.eclipsecs.core.CheckstylePlugin;
@@ -38,7 +37,7 @@ import net.sf.eclipsecs.core.util.CheckstylePluginException;
  * functionality.
  *
  */
-public class AuditorJob extends AbstractCheckJob {
+public final class AuditorJob extends AbstractCheckJob {
 
     /** The project to audit. */
     private IProject mProject;
@@ -59,11 +58,11 @@ public class AuditorJob extends AbstractCheckJob {
 
         this.mProject = project;
         this.mAuditor = auditor;
-    }
+        mAuditor.setBackground(true);
 
-    @Override
-    public boolean contains(ISchedulingRule arg0) {
-        return arg0 instanceof AuditorJob;
+        // interactive audits go first, audits and builds of the same project run one at a time
+        setPriority(LONG);
+        setRule(project);
     }
 
     @Override
@@ -20,23 +20,40 @@
 
 package net.sf.eclipsecs.core.jobs;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.IJobChangeListener;
+import org.eclipse.core.runtime.jobs.IJobFunction;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.osgi.util.NLS;
 
 import net.sf.eclipsecs.core.Messages;
+import net.sf.eclipsecs.core.builder.CheckstyleBuilder;
 import net.sf.eclipsecs.core.nature.CheckstyleNature;
 
 /**
  * Operation which builds a project.
- *
+ * <p>
+ * A job building a single project runs all builders of the project. A job building several
+ * projects runs the Java builder of the projects one after another first, so the files with compile
+ * errors are known. Then the projects are audited concurrently, each under the rule of the project.
+ * Running a builder requires the workspace root rule, so the audits do not run the Checkstyle
+ * builder but audit the projects directly, just like a full build of the builder.
+ * </p>
  */
 public class BuildProjectJob extends Job {
 
+    /** The interval in milliseconds the progress of a multi-project build is updated in. */
+    private static final long PROGRESS_INTERVAL = 200;
+
     /** The project to build. */
     private IProject[] mProjects;
 
@@ -60,7 +77,10 @@ public class BuildProjectJob extends Job {
     }
 
     /**
-     * Creates an operation which builds a set of project.
+     * Creates an operation which runs the Java builder and Checkstyle on a set of projects. The
+     * projects are audited concurrently, each under a scheduling rule for the project, with at most
+     * as many projects being audited at the same time as audits may run concurrently. The job must
+     * be scheduled without a rule.
      *
      * @param projects
      *            the projects to build
@@ -76,6 +96,10 @@ public class BuildProjectJob extends Job {
 
     @Override
     public IStatus run(IProgressMonitor monitor) {
+        return mProjects.length > 1 ? buildConcurrently(monitor) : buildSequentially(monitor);
+    }
+
+    private IStatus buildSequentially(IProgressMonitor monitor) {
 
         IStatus status = null;
 
@@ -97,4 +121,90 @@ public class BuildProjectJob extends Job {
 
         return status;
     }
+
+    private IStatus buildConcurrently(IProgressMonitor monitor) {
+        final SubMonitor subMonitor = SubMonitor.convert(monitor, mProjects.length * 2);
+
+        IStatus status = null;
+        try {
+            // compile the projects first, each build takes the workspace root rule for itself
+            for (IProject project : mProjects) {
+                buildJava(project, mKind, subMonitor.split(1));
+            }
+            status = auditConcurrently(subMonitor.split(mProjects.length));
+        } catch (CoreException ex) {
+            status = ex.getStatus();
+        }
+        return status;
+    }
+
+    private IStatus auditConcurrently(IProgressMonitor monitor) {
+        final SubMonitor subMonitor = SubMonitor.convert(monitor, mProjects.length);
+        final JobGroup group =
+            new JobGroup(getName(), AuditScheduler.getConcurrencyLimit(), mProjects.length);
+        final AtomicInteger finishedCount = new AtomicInteger();
+
+        for (IProject project : mProjects) {
+            final Job job = Job.create(
+                NLS.bind(Messages.BuildProjectJob_msgBuildProject, project.getName()),
+                (IJobFunction) projectMonitor -> auditProject(project, projectMonitor));
+            job.setRule(project);
+            job.setSystem(true);
+            job.setJobGroup(group);
+            job.addJobChangeListener(
+                IJobChangeListener.onDone(event -> finishedCount.incrementAndGet()));
+            job.schedule();
+        }
+
+        // report the progress of the project builds until all are done or the build is canceled
+        int reportedCount = 0;
+        boolean finished = false;
+        while (!finished) {
+            if (subMonitor.isCanceled()) {
+                group.cancel();
+            }
+            try {
+                finished = group.join(PROGRESS_INTERVAL, null);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                group.cancel();
+                finished = true;
+            }
+            final int count = finishedCount.get();
+            subMonitor.worked(count - reportedCount);
+            reportedCount = count;
+        }
+        monitor.done();
+
+        IStatus status = group.getResult();
+        if (subMonitor.isCanceled()) {
+            status = Status.CANCEL_STATUS;
+        }
+        else if (status == null) {
+            status = Status.OK_STATUS;
+        }
+        return status;
+    }
+
+    private static void buildJava(IProject project, int kind, IProgressMonitor monitor)
+            throws CoreException {
+        // build only if open and checkstyle active for the java project
+        if (project.isOpen() && project.hasNature(CheckstyleNature.NATURE_ID)
+            && project.hasNature(JavaCore.NATURE_ID)) {
+            project.build(kind, JavaCore.BUILDER_ID, null, monitor);
+        }
+    }
+
+    private static IStatus auditProject(IProject project, IProgressMonitor monitor) {
+        IStatus status = Status.OK_STATUS;
+        try {
+            // audit only if open and checkstyle active for the project
+            if (project.isOpen() && project.hasNature(CheckstyleNature.NATURE_ID)) {
+                CheckstyleBuilder.auditProject(project, monitor);
+            }
+        } catch (CoreException ex) {
+            status = ex.getStatus();
+        }
+        return status;
+    }
 }
@@ -0,0 +1,141 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.jobs;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import net.sf.eclipsecs.core.Messages;
+import net.sf.eclipsecs.core.builder.CheckerFactory;
+import net.sf.eclipsecs.core.builder.CheckerLease;
+import net.sf.eclipsecs.core.config.ICheckConfiguration;
+import net.sf.eclipsecs.core.nature.CheckstyleNature;
+import net.sf.eclipsecs.core.projectconfig.FileSet;
+import net.sf.eclipsecs.core.projectconfig.ProjectConfigurationFactory;
+import net.sf.eclipsecs.core.util.CheckstylePluginException;
+
+/**
+ * Low priority job creating the checkers of the Checkstyle enabled projects ahead of the first
+ * audit, so the first build after startup does not have to wait for the configurations being read
+ * and the checkers being configured. The job is canceled as soon as a Checkstyle build starts.
+ */
+public final class PrewarmCheckersJob extends Job {
+
+    /** The job family of the pre-warming job. */
+    public static final Object PREWARM_JOB_FAMILY = new Object();
+
+    /** The projects to pre-warm first. */
+    private final List<IProject> mPreferredProjects;
+
+    /**
+     * Creates the job.
+     *
+     * @param preferredProjects
+     *            the projects to pre-warm first, e.g. the projects of the open editors
+     */
+    public PrewarmCheckersJob(List<IProject> preferredProjects) {
+        super(Messages.PrewarmCheckersJob_name);
+        mPreferredProjects = preferredProjects;
+        setPriority(DECORATE);
+    }
+
+    /**
+     * Cancels running or scheduled pre-warming jobs.
+     */
+    public static void cancelAll() {
+        Job.getJobManager().cancel(PREWARM_JOB_FAMILY);
+    }
+
+    @Override
+    public boolean belongsTo(Object family) {
+        return PREWARM_JOB_FAMILY.equals(family)
+            || AbstractCheckJob.CHECKSTYLE_JOB_FAMILY.equals(family) || super.belongsTo(family);
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        final List<IProject> projects = getProjects();
+        final SubMonitor subMonitor = SubMonitor.convert(monitor, projects.size());
+        final Set<ICheckConfiguration> warmedConfigs = new HashSet<>();
+
+        for (IProject project : projects) {
+            if (subMonitor.isCanceled()) {
+                break;
+            }
+            subMonitor.subTask(project.getName());
+            prewarm(project, warmedConfigs);
+            subMonitor.worked(1);
+        }
+        return subMonitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+    }
+
+    /**
+     * Returns the Checkstyle enabled projects, the preferred projects first.
+     *
+     * @return the projects to pre-warm
+     */
+    private List<IProject> getProjects() {
+        final Set<IProject> projects = new LinkedHashSet<>(mPreferredProjects);
+        projects.addAll(List.of(ResourcesPlugin.getWorkspace().getRoot().getProjects()));
+
+        final List<IProject> checkstyleProjects = new ArrayList<>();
+        for (IProject project : projects) {
+            try {
+                if (project.isAccessible() && project.hasNature(CheckstyleNature.NATURE_ID)) {
+                    checkstyleProjects.add(project);
+                }
+            } catch (CoreException ex) {
+                // not a project to pre-warm
+            }
+        }
+        return checkstyleProjects;
+    }
+
+    private static void prewarm(IProject project, Set<ICheckConfiguration> warmedConfigs) {
+        try {
+            for (FileSet fileSet : ProjectConfigurationFactory.getConfiguration(project)
+                .getFileSets()) {
+                final ICheckConfiguration config = fileSet.getCheckConfig();
+                if (fileSet.isEnabled() && config != null && warmedConfigs.add(config)) {
+                    // return the checker to the pool right away, it stays cached for the build
+                    try (CheckerLease lease = CheckerFactory.leaseChecker(config, project)) {
+                        lease.getChecker();
+                    }
+                }
+            }
+        } catch (CheckstyleException | CheckstylePluginException ex) {
+            // broken configurations are reported by the audit
+        }
+    }
+}
@@ -35,6 +35,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.MultiRule;
 
 import net.sf.eclipsecs.core.CheckstylePlugin;
 import net.sf.eclipsecs.core.Messages;
@@ -63,7 +64,15 @@ public class RunCheckstyleOnFilesJob extends AbstractCheckJob {
         super(Messages.RunCheckstyleOnFilesJob_title);
         mFilesToCheck = new ArrayList<>(files);
 
-        setRule(this);
+        // the job audits the projects of the files
+        ISchedulingRule rule = null;
+        for (IFile file : mFilesToCheck) {
+            rule = MultiRule.combine(rule, file.getProject());
+        }
+        setRule(rule);
+
+        // the files are checked for immediate feedback in the editors
+        setPriority(INTERACTIVE);
     }
 
     /**
@@ -76,11 +85,6 @@ public class RunCheckstyleOnFilesJob extends AbstractCheckJob {
         this(Collections.singletonList(file));
     }
 
-    @Override
-    public boolean contains(ISchedulingRule arg0) {
-        return arg0 instanceof RunCheckstyleOnFilesJob;
-    }
-
     @Override
     public final IStatus runInWorkspace(final IProgressMonitor monitor) throws CoreException {
 
@@ -0,0 +1,107 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.jobs;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import net.sf.eclipsecs.core.CheckstylePluginPrefs;
+import net.sf.eclipsecs.core.Messages;
+
+/**
+ * Coalesces requests to run Checkstyle on single files. Requested files are collected in a pending
+ * set until no new request arrived for the configured delay, then one
+ * {@link RunCheckstyleOnFilesJob} per project is scheduled for the collected files. This way bursts
+ * of requests, e.g. after a refactoring touched many files or when several editors get opened,
+ * result in one audit per project instead of one audit per request.
+ */
+public final class RunCheckstyleOnFilesScheduler {
+
+    /** The files waiting to be checked, in request order. */
+    private static final Set<IFile> PENDING_FILES = new LinkedHashSet<>();
+
+    /** The job submitting the pending files once the requests settled. */
+    private static final Job SUBMIT_JOB = Job.create(Messages.RunCheckstyleOnFilesJob_title,
+        RunCheckstyleOnFilesScheduler::submitPendingFiles);
+
+    static {
+        SUBMIT_JOB.setSystem(true);
+    }
+
+    /**
+     * Hidden utility class constructor.
+     */
+    private RunCheckstyleOnFilesScheduler() {
+        // noop
+    }
+
+    /**
+     * Requests Checkstyle to be run on the given files. The files are checked after no further
+     * request arrived for the configured delay, together with the files of these requests.
+     *
+     * @param files
+     *            the files to check
+     */
+    public static void schedule(Collection<IFile> files) {
+        if (!files.isEmpty()) {
+            synchronized (PENDING_FILES) {
+                PENDING_FILES.addAll(files);
+            }
+
+            // rescheduling a sleeping job restarts its delay
+            SUBMIT_JOB.schedule(
+                CheckstylePluginPrefs.getInt(CheckstylePluginPrefs.PREF_AUDIT_COALESCING_DELAY));
+        }
+    }
+
+    private static IStatus submitPendingFiles(IProgressMonitor monitor) {
+        final List<IFile> files;
+        synchronized (PENDING_FILES) {
+            files = new ArrayList<>(PENDING_FILES);
+            PENDING_FILES.clear();
+        }
+
+        // files deleted since the request need not be checked
+        final Map<IProject, List<IFile>> projectFiles = new LinkedHashMap<>();
+        for (IFile file : files) {
+            if (file.exists()) {
+                projectFiles.computeIfAbsent(file.getProject(), key -> new ArrayList<>()).add(file);
+            }
+        }
+
+        for (List<IFile> filesToCheck : projectFiles.values()) {
+            AuditScheduler.schedule(new RunCheckstyleOnFilesJob(filesToCheck));
+        }
+        return Status.OK_STATUS;
+    }
+}
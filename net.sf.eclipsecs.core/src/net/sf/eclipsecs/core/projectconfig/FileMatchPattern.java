@@ -40,6 +40,9 @@ public class FileMatchPattern implements Cloneable {
     /** The compiled regex pattern. */
     private Pattern regexPattern;
 
+    /** The fast path for literal patterns, <code>null</code> if the regex must be used. */
+    private LiteralPathPattern literalPattern;
+
     /** The pattern string. */
     private String patternString;
 
@@ -78,6 +81,7 @@ public class FileMatchPattern implements Cloneable {
         }
         try {
             regexPattern = Pattern.compile(pattern);
+            literalPattern = LiteralPathPattern.parse(pattern);
             patternString = pattern;
         } catch (PatternSyntaxException ex) {
             // wrap the exception
@@ -95,8 +99,13 @@ public class FileMatchPattern implements Cloneable {
     public boolean isMatch(String fileName) {
         boolean result = false;
 
-        final Matcher matcher = regexPattern.matcher(fileName);
-        result = matcher.find();
+        if (literalPattern != null) {
+            result = literalPattern.isMatch(fileName);
+        }
+        else {
+            final Matcher matcher = regexPattern.matcher(fileName);
+            result = matcher.find();
+        }
 
         return result;
     }
@@ -0,0 +1,125 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.projectconfig;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+
+/**
+ * Matches files against several file sets at once. Patterns shared by the file sets are evaluated
+ * only once per file, and the patterns of each file set are evaluated from the last to the first,
+ * stopping at the first match, which keeps the last-match-wins semantics of
+ * {@link FileSet#includesFile(IFile)}.
+ */
+public final class FileSetMatcher {
+
+    /** Result of a pattern not yet evaluated for the current file. */
+    private static final byte UNKNOWN = 0;
+
+    /** Result of a matching pattern. */
+    private static final byte MATCH = 1;
+
+    /** Result of a pattern not matching. */
+    private static final byte NO_MATCH = 2;
+
+    /** The file sets. */
+    private final List<FileSet> fileSets;
+
+    /** The distinct patterns of all file sets. */
+    private final FileMatchPattern[] patterns;
+
+    /** The indexes of the distinct patterns used by each file set, in order. */
+    private final int[][] patternIndexes;
+
+    /** Whether the patterns of each file set are include patterns, in order. */
+    private final boolean[][] includes;
+
+    private FileSetMatcher(List<FileSet> fileSets) {
+        this.fileSets = List.copyOf(fileSets);
+        this.patternIndexes = new int[fileSets.size()][];
+        this.includes = new boolean[fileSets.size()][];
+
+        final Map<String, Integer> distinctPatterns = new LinkedHashMap<>();
+        final List<FileMatchPattern> patternList = new ArrayList<>();
+        for (int i = 0; i < fileSets.size(); i++) {
+            final List<FileMatchPattern> fileSetPatterns = fileSets.get(i).getFileMatchPatterns();
+            patternIndexes[i] = new int[fileSetPatterns.size()];
+            includes[i] = new boolean[fileSetPatterns.size()];
+            for (int j = 0; j < fileSetPatterns.size(); j++) {
+                final FileMatchPattern pattern = fileSetPatterns.get(j);
+                patternIndexes[i][j] = distinctPatterns.computeIfAbsent(pattern.getMatchPattern(),
+                    key -> {
+                        patternList.add(pattern);
+                        return patternList.size() - 1;
+                    });
+                includes[i][j] = pattern.isIncludePattern();
+            }
+        }
+        this.patterns = patternList.toArray(new FileMatchPattern[0]);
+    }
+
+    /**
+     * Compiles the patterns of file sets into a matcher.
+     *
+     * @param fileSets
+     *            the file sets to match against
+     * @return the matcher
+     */
+    public static FileSetMatcher compile(List<FileSet> fileSets) {
+        return new FileSetMatcher(fileSets);
+    }
+
+    /**
+     * Returns the file sets including a file.
+     *
+     * @param file
+     *            the file
+     * @return the file sets including the file, in the order of the file sets
+     */
+    public List<FileSet> getMatchingFileSets(IFile file) {
+        final String filePath = file.getProjectRelativePath().toString();
+        final byte[] results = new byte[patterns.length];
+
+        final List<FileSet> matching = new ArrayList<>();
+        for (int i = 0; i < patternIndexes.length; i++) {
+            for (int j = patternIndexes[i].length - 1; j >= 0; j--) {
+                if (isMatch(patternIndexes[i][j], filePath, results)) {
+                    if (includes[i][j]) {
+                        matching.add(fileSets.get(i));
+                    }
+                    break;
+                }
+            }
+        }
+        return matching;
+    }
+
+    private boolean isMatch(int patternIndex, String filePath, byte[] results) {
+        if (results[patternIndex] == UNKNOWN) {
+            results[patternIndex] = patterns[patternIndex].isMatch(filePath) ? MATCH : NO_MATCH;
+        }
+        return results[patternIndex] == MATCH;
+    }
+}
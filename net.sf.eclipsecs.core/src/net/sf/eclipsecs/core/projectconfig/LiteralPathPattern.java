@@ -0,0 +1,174 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.projectconfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fast path for file match patterns which are plain literals, optionally anchored and containing
+ * <code>.</code> wildcards, like the common <code>.java$</code> or <code>^src/</code>. Such
+ * patterns are matched without allocating a regex matcher, with the same result as
+ * <code>Matcher.find()</code> on file paths.
+ */
+final class LiteralPathPattern {
+
+    /** Characters with a special meaning in regular expressions. */
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    /** The literal characters, wildcard positions are ignored. */
+    private final char[] characters;
+
+    /** The positions matching any character. */
+    private final boolean[] wildcards;
+
+    /** Whether the pattern is anchored at the start of the path. */
+    private final boolean anchoredStart;
+
+    /** Whether the pattern is anchored at the end of the path. */
+    private final boolean anchoredEnd;
+
+    private LiteralPathPattern(char[] characters, boolean[] wildcards, boolean anchoredStart,
+        boolean anchoredEnd) {
+        this.characters = characters;
+        this.wildcards = wildcards;
+        this.anchoredStart = anchoredStart;
+        this.anchoredEnd = anchoredEnd;
+    }
+
+    /**
+     * Creates the fast path for a regular expression if it is a plain literal.
+     *
+     * @param regex
+     *            the regular expression
+     * @return the literal pattern or <code>null</code> if the expression needs a regex engine
+     */
+    static LiteralPathPattern parse(String regex) {
+        final boolean anchoredStart = regex.startsWith("^");
+        final boolean anchoredEnd = regex.endsWith("$") && !isEscaped(regex, regex.length() - 1);
+        final int end = anchoredEnd ? regex.length() - 1 : regex.length();
+
+        final StringBuilder characters = new StringBuilder();
+        final List<Integer> wildcardPositions = new ArrayList<>();
+        boolean literal = true;
+        int index = anchoredStart ? 1 : 0;
+        while (index < end && literal) {
+            final char current = regex.charAt(index);
+            if (startsEscapedMetaCharacter(regex, index, end)) {
+                index++;
+                characters.append(regex.charAt(index));
+            }
+            else if (current == '.') {
+                wildcardPositions.add(characters.length());
+                characters.append(current);
+            }
+            else {
+                literal = META_CHARACTERS.indexOf(current) < 0;
+                characters.append(current);
+            }
+            index++;
+        }
+
+        LiteralPathPattern pattern = null;
+        if (literal) {
+            final boolean[] wildcards = new boolean[characters.length()];
+            wildcardPositions.forEach(position -> wildcards[position] = true);
+            pattern = new LiteralPathPattern(characters.toString().toCharArray(), wildcards,
+                anchoredStart, anchoredEnd);
+        }
+        return pattern;
+    }
+
+    /**
+     * Determines whether a backslash escaping a literal character starts at an index.
+     *
+     * @param regex
+     *            the regular expression
+     * @param index
+     *            the index
+     * @param end
+     *            the end of the expression, excluding an anchor
+     * @return <code>true</code> if the index starts an escaped meta character
+     */
+    private static boolean startsEscapedMetaCharacter(String regex, int index, int end) {
+        return regex.charAt(index) == '\\' && index + 1 < end
+            && !Character.isLetterOrDigit(regex.charAt(index + 1));
+    }
+
+    /**
+     * Determines whether a character of a regular expression is escaped by an odd number of
+     * backslashes.
+     *
+     * @param regex
+     *            the regular expression
+     * @param index
+     *            the index of the character
+     * @return <code>true</code> if the character is escaped
+     */
+    private static boolean isEscaped(String regex, int index) {
+        int backslashes = 0;
+        for (int i = index - 1; i >= 0 && regex.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    /**
+     * Tests if the pattern is found in a path.
+     *
+     * @param path
+     *            the path
+     * @return <code>true</code> if the pattern is found
+     */
+    boolean isMatch(String path) {
+        final int last = path.length() - characters.length;
+        boolean match = false;
+        if (anchoredStart && anchoredEnd) {
+            match = last == 0 && matchesAt(path, 0);
+        }
+        else if (anchoredStart) {
+            match = last >= 0 && matchesAt(path, 0);
+        }
+        else if (anchoredEnd) {
+            match = last >= 0 && matchesAt(path, last);
+        }
+        else {
+            for (int offset = 0; offset <= last && !match; offset++) {
+                match = matchesAt(path, offset);
+            }
+        }
+        return match;
+    }
+
+    private boolean matchesAt(String path, int offset) {
+        boolean match = true;
+        for (int i = 0; i < characters.length && match; i++) {
+            final char current = path.charAt(offset + i);
+            match = wildcards[i] ? !isLineTerminator(current) : current == characters[i];
+        }
+        return match;
+    }
+
+    private static boolean isLineTerminator(char character) {
+        return character == '\n' || character == '\r' || character == '\u0085'
+            || character == '\u2028' || character == '\u2029';
+    }
+}
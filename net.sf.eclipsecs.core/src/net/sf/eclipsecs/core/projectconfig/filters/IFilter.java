@@ -22,6 +22,8 @@ package net.sf.eclipsecs.core.projectconfig.filters;
 
 import java.util.List;
 
+import org.eclipse.core.runtime.IPath;
+
 /**
  * Interface for a filter.
  *
@@ -123,4 +125,30 @@ public interface IFilter extends Cloneable {
      */
     boolean accept(Object element);
 
+    /**
+     * Determines whether this filter rejects a file by its path alone, so the file resource does
+     * not need to be created. Filters which cannot tell without looking at the resource return
+     * <code>false</code>, the file is then passed to {@link #accept(Object)}.
+     *
+     * @param filePath
+     *            the full workspace path of the file
+     * @return true - the file does not pass the filter
+     */
+    default boolean rejectsFile(IPath filePath) {
+        return false;
+    }
+
+    /**
+     * Determines whether this filter rejects every resource within a container by the path of the
+     * container alone, so the container does not need to be traversed at all. Filters which cannot
+     * tell without looking at the individual resources return <code>false</code>.
+     *
+     * @param containerPath
+     *            the full workspace path of the container
+     * @return true - no resource within the container passes the filter
+     */
+    default boolean rejectsSubtree(IPath containerPath) {
+        return false;
+    }
+
 }
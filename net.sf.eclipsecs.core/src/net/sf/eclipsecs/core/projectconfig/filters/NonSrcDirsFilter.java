@@ -25,6 +25,7 @@ import java.util.List;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.jdt.core.IClasspathEntry;
@@ -52,21 +53,63 @@ public class NonSrcDirsFilter extends AbstractFilter {
 
         if (element instanceof IResource) {
             final IResource resource = (IResource) element;
+            goesThrough = isInSourceDir(resource.getFullPath());
+        }
+        return goesThrough;
+    }
+
+    @Override
+    public boolean rejectsFile(IPath filePath) {
+        return !isInSourceDir(filePath);
+    }
 
-            final IProject project = resource.getProject();
-            if (mCurrentProject != project) {
-                mCurrentSourcePaths = getSourceDirPaths(project);
-                mCurrentProject = project;
+    @Override
+    public boolean rejectsSubtree(IPath containerPath) {
+        boolean rejected = true;
+
+        // folders within source directories or containing source directories must be traversed
+        for (IPath sourcePath : getSourceDirPaths(containerPath)) {
+            if (sourcePath.isPrefixOf(containerPath) || containerPath.isPrefixOf(sourcePath)) {
+                rejected = false;
+                break;
             }
+        }
+        return rejected;
+    }
 
-            for (IPath sourcePath : mCurrentSourcePaths) {
-                if (sourcePath.isPrefixOf(resource.getFullPath())) {
-                    goesThrough = true;
-                    break;
-                }
+    /**
+     * Checks if a resource lies within a source directory of its project.
+     *
+     * @param fullPath
+     *            the full workspace path of the resource
+     * @return <code>true</code> if the resource is within a source directory
+     */
+    private boolean isInSourceDir(IPath fullPath) {
+        boolean inSourceDir = false;
+        for (IPath sourcePath : getSourceDirPaths(fullPath)) {
+            if (sourcePath.isPrefixOf(fullPath)) {
+                inSourceDir = true;
+                break;
             }
         }
-        return goesThrough;
+        return inSourceDir;
+    }
+
+    /**
+     * Gets the source paths of the project of a resource, cached for the current project.
+     *
+     * @param fullPath
+     *            the full workspace path of the resource
+     * @return the list of source paths
+     */
+    private List<IPath> getSourceDirPaths(IPath fullPath) {
+        final IProject project = ResourcesPlugin.getWorkspace().getRoot()
+            .getProject(fullPath.segment(0));
+        if (!project.equals(mCurrentProject)) {
+            mCurrentSourcePaths = getSourceDirPaths(project);
+            mCurrentProject = project;
+        }
+        return mCurrentSourcePaths;
     }
 
     /**
@@ -59,23 +59,45 @@ public class PackageFilter extends AbstractFilter {
                 folder = resource.getParent();
             }
 
-            final IPath projRelativPath = folder.getProjectRelativePath();
-
-            final int size = mData != null ? mData.size() : 0;
-            for (int i = 0; i < size; i++) {
-                final String element = mData.get(i);
-
-                if (!RECURSE_OFF_MARKER.equals(element)) {
-                    final IPath filteredPath = new Path(element);
-                    if (mExcludeSubPackages && filteredPath.isPrefixOf(projRelativPath)
-                        || !mExcludeSubPackages && filteredPath.equals(projRelativPath)) {
-                        accept = false;
-                        break;
-                    }
+            accept = !isExcluded(folder.getProjectRelativePath());
+        }
+        return accept;
+    }
+
+    @Override
+    public boolean rejectsFile(IPath filePath) {
+        return isExcluded(filePath.removeFirstSegments(1).removeLastSegments(1));
+    }
+
+    @Override
+    public boolean rejectsSubtree(IPath containerPath) {
+        // without sub-packages being excluded the packages below may pass the filter
+        return mExcludeSubPackages && isExcluded(containerPath.removeFirstSegments(1));
+    }
+
+    /**
+     * Checks if a folder is an excluded package.
+     *
+     * @param projRelativPath
+     *            the project relative path of the folder
+     * @return <code>true</code> if the package is excluded
+     */
+    private boolean isExcluded(IPath projRelativPath) {
+        boolean excluded = false;
+        final int size = mData != null ? mData.size() : 0;
+        for (int i = 0; i < size; i++) {
+            final String element = mData.get(i);
+
+            if (!RECURSE_OFF_MARKER.equals(element)) {
+                final IPath filteredPath = new Path(element);
+                if (mExcludeSubPackages && filteredPath.isPrefixOf(projRelativPath)
+                    || !mExcludeSubPackages && filteredPath.equals(projRelativPath)) {
+                    excluded = true;
+                    break;
                 }
             }
         }
-        return accept;
+        return excluded;
     }
 
     @Override
@@ -54,6 +54,17 @@ public class UnOpenedFilesFilter extends AbstractFilter {
         sOpenedFiles.remove(file);
     }
 
+    /**
+     * Checks if a file is opened in an editor.
+     *
+     * @param file
+     *            the file
+     * @return <code>true</code> if the file is opened
+     */
+    public static boolean isOpened(IFile file) {
+        return sOpenedFiles.contains(file);
+    }
+
     @Override
     public boolean accept(Object element) {
         boolean accept = false;
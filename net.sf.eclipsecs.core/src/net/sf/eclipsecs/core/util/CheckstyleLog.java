@@ -67,4 +67,16 @@ public final class CheckstyleLog {
         log.log(status);
     }
 
+    /**
+     * Logs an informational message.
+     *
+     * @param message
+     *            the message
+     */
+    public static void info(String message) {
+        final Status status = new Status(IStatus.INFO, CheckstylePlugin.PLUGIN_ID, IStatus.OK,
+            NLS.bind(Messages.CheckstyleLog_msgStatusPrefix, message), null);
+        log.log(status);
+    }
+
 }
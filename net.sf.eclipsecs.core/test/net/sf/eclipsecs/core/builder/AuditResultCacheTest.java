@@ -0,0 +1,141 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.sf.eclipsecs.core.testutil.FakeResources;
+
+class AuditResultCacheTest {
+
+    private static final byte[] CONFIG_DIGEST = {1, 2, 3};
+
+    private static final byte[] OTHER_CONFIG_DIGEST = {1, 2, 4};
+
+    private static final List<Violation> VIOLATIONS = List.of(new Violation("LineLength",
+        "maxLineLen", null, IMarker.SEVERITY_WARNING, 5, 0, "Line is too long", null));
+
+    @TempDir
+    File mTempDir;
+
+    private File mSourceFile;
+
+    private IFile mFile;
+
+    private AuditResultCache mCache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mSourceFile = new File(mTempDir, "Foo.java");
+        Files.writeString(mSourceFile.toPath(), "class Foo {}", StandardCharsets.UTF_8);
+        mFile = FakeResources.createFile("src/Foo.java", mSourceFile);
+        mCache = new AuditResultCache(null, new File(mTempDir, "cache"));
+    }
+
+    @Test
+    void fileDigestCoversContentAndConfiguration() throws IOException {
+        final String digest = AuditResultCache.getFileDigest(CONFIG_DIGEST, mFile);
+
+        assertThat(digest).isNotNull()
+            .isEqualTo(AuditResultCache.getFileDigest(CONFIG_DIGEST, mFile))
+            .isNotEqualTo(AuditResultCache.getFileDigest(OTHER_CONFIG_DIGEST, mFile));
+
+        Files.writeString(mSourceFile.toPath(), "class Foo { }", StandardCharsets.UTF_8);
+        assertThat(AuditResultCache.getFileDigest(CONFIG_DIGEST, mFile)).isNotEqualTo(digest);
+    }
+
+    @Test
+    void unreadableFileHasNoDigest() {
+        final IFile missing =
+            FakeResources.createFile("src/Bar.java", new File(mTempDir, "Bar.java"));
+
+        assertThat(AuditResultCache.getFileDigest(CONFIG_DIGEST, missing)).isNull();
+    }
+
+    @Test
+    void resultIsRestoredForUnchangedFile() {
+        final String configKey = AuditResultCache.getConfigurationKey(CONFIG_DIGEST);
+        final String digest = AuditResultCache.getFileDigest(CONFIG_DIGEST, mFile);
+        mCache.put(mFile, configKey, digest, VIOLATIONS);
+
+        assertThat(mCache.get(mFile, configKey, digest)).isEqualTo(VIOLATIONS);
+        assertThat(mCache.get(FakeResources.createFile("src/Foo.java"), configKey, digest))
+            .isEqualTo(VIOLATIONS);
+    }
+
+    @Test
+    void changedFileInvalidatesResult() throws IOException {
+        final String configKey = AuditResultCache.getConfigurationKey(CONFIG_DIGEST);
+        mCache.put(mFile, configKey, AuditResultCache.getFileDigest(CONFIG_DIGEST, mFile),
+            VIOLATIONS);
+
+        Files.writeString(mSourceFile.toPath(), "class Foo { }", StandardCharsets.UTF_8);
+
+        assertThat(mCache.get(mFile, configKey,
+            AuditResultCache.getFileDigest(CONFIG_DIGEST, mFile))).isNull();
+    }
+
+    @Test
+    void resultIsKeptPerConfiguration() {
+        final String configKey = AuditResultCache.getConfigurationKey(CONFIG_DIGEST);
+        final String otherConfigKey = AuditResultCache.getConfigurationKey(OTHER_CONFIG_DIGEST);
+        mCache.put(mFile, configKey, AuditResultCache.getFileDigest(CONFIG_DIGEST, mFile),
+            VIOLATIONS);
+
+        assertThat(mCache.get(mFile, otherConfigKey,
+            AuditResultCache.getFileDigest(OTHER_CONFIG_DIGEST, mFile))).isNull();
+
+        mCache.put(mFile, otherConfigKey,
+            AuditResultCache.getFileDigest(OTHER_CONFIG_DIGEST, mFile), List.of());
+
+        assertThat(mCache.get(mFile, configKey,
+            AuditResultCache.getFileDigest(CONFIG_DIGEST, mFile))).isEqualTo(VIOLATIONS);
+        assertThat(mCache.get(mFile, otherConfigKey,
+            AuditResultCache.getFileDigest(OTHER_CONFIG_DIGEST, mFile))).isEmpty();
+    }
+
+    @Test
+    void removedResultIsNotRestored() {
+        final String configKey = AuditResultCache.getConfigurationKey(CONFIG_DIGEST);
+        final String otherConfigKey = AuditResultCache.getConfigurationKey(OTHER_CONFIG_DIGEST);
+        final String digest = AuditResultCache.getFileDigest(CONFIG_DIGEST, mFile);
+        final String otherDigest = AuditResultCache.getFileDigest(OTHER_CONFIG_DIGEST, mFile);
+        mCache.put(mFile, configKey, digest, VIOLATIONS);
+        mCache.put(mFile, otherConfigKey, otherDigest, VIOLATIONS);
+
+        mCache.remove(mFile, configKey);
+
+        assertThat(mCache.get(mFile, configKey, digest)).isNull();
+        assertThat(mCache.get(mFile, otherConfigKey, otherDigest)).isEqualTo(VIOLATIONS);
+    }
+}
@@ -0,0 +1,113 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.jupiter.api.Test;
+
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+
+class CheckerContentKeyTest {
+
+    private static final ClassLoader CLASS_LOADER = CheckerContentKeyTest.class.getClassLoader();
+
+    @Test
+    void equalConfigurationsHaveEqualKeys() throws CheckstyleException {
+        final CheckerContentKey key = computeKey(createConfiguration("120", "8"), "UTF-8", "en");
+        final CheckerContentKey other =
+            computeKey(createConfiguration("120", "8"), "UTF-8", "en");
+
+        assertThat(other).isEqualTo(key).hasSameHashCodeAs(key);
+        assertThat(other.toString()).isEqualTo(key.toString());
+    }
+
+    @Test
+    void propertyOrderDoesNotMatter() throws CheckstyleException {
+        final DefaultConfiguration configuration = new DefaultConfiguration("Checker");
+        configuration.addProperty("fileExtensions", "java");
+        configuration.addProperty("severity", "warning");
+        final DefaultConfiguration reordered = new DefaultConfiguration("Checker");
+        reordered.addProperty("severity", "warning");
+        reordered.addProperty("fileExtensions", "java");
+
+        assertThat(computeKey(reordered, "UTF-8", null))
+            .isEqualTo(computeKey(configuration, "UTF-8", null));
+    }
+
+    @Test
+    void changedPropertyChangesKey() throws CheckstyleException {
+        assertThat(computeKey(createConfiguration("100", "8"), "UTF-8", "en"))
+            .isNotEqualTo(computeKey(createConfiguration("120", "8"), "UTF-8", "en"));
+    }
+
+    @Test
+    void changedChildChangesKey() throws CheckstyleException {
+        assertThat(computeKey(createConfiguration("120", "4"), "UTF-8", "en"))
+            .isNotEqualTo(computeKey(createConfiguration("120", "8"), "UTF-8", "en"));
+    }
+
+    @Test
+    void changedCharsetOrLocaleChangesKey() throws CheckstyleException {
+        final CheckerContentKey key = computeKey(createConfiguration("120", "8"), "UTF-8", "en");
+
+        assertThat(computeKey(createConfiguration("120", "8"), "ISO-8859-1", "en"))
+            .isNotEqualTo(key);
+        assertThat(computeKey(createConfiguration("120", "8"), "UTF-8", "de")).isNotEqualTo(key);
+        assertThat(computeKey(createConfiguration("120", "8"), "UTF-8", null)).isNotEqualTo(key);
+    }
+
+    @Test
+    void differentClassLoaderChangesKey() throws Exception {
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[0], CLASS_LOADER)) {
+            final CheckerContentKey key =
+                computeKey(createConfiguration("120", "8"), "UTF-8", "en");
+            final CheckerContentKey other = CheckerContentKey
+                .compute(createConfiguration("120", "8"), "UTF-8", "en", classLoader);
+
+            assertThat(other).isNotEqualTo(key);
+            assertThat(other.toString()).isEqualTo(key.toString());
+        }
+    }
+
+    private static CheckerContentKey computeKey(DefaultConfiguration configuration,
+        String charset, String locale) throws CheckstyleException {
+        return CheckerContentKey.compute(configuration, charset, locale, CLASS_LOADER);
+    }
+
+    private static DefaultConfiguration createConfiguration(String lineLength, String tabWidth) {
+        final DefaultConfiguration lineLengthCheck = new DefaultConfiguration("LineLength");
+        lineLengthCheck.addProperty("max", lineLength);
+        lineLengthCheck.addMessage("maxLineLen", "Line too long");
+
+        final DefaultConfiguration treeWalker = new DefaultConfiguration("TreeWalker");
+        treeWalker.addProperty("tabWidth", tabWidth);
+        treeWalker.addChild(lineLengthCheck);
+
+        final DefaultConfiguration checker = new DefaultConfiguration("Checker");
+        checker.addChild(treeWalker);
+        return checker;
+    }
+}
@@ -0,0 +1,84 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentAuditRunnerTest {
+
+    @Test
+    void auditsWithoutSharedResourcesGetOwnLanes() {
+        final Map<String, Set<String>> audits = Map.of(
+            "a", Set.of("src/A.java", "src"),
+            "b", Set.of("test/B.java", "test"));
+
+        assertThat(getLanes(audits, "a", "b")).containsExactly(List.of("a"), List.of("b"));
+    }
+
+    @Test
+    void auditsSharingResourcesShareLane() {
+        final Map<String, Set<String>> audits = Map.of(
+            "a", Set.of("src/A.java", "src"),
+            "b", Set.of("test/B.java", "test"),
+            "c", Set.of("src/C.java", "src"),
+            "d", Set.of("other/D.java", "other"));
+
+        assertThat(getLanes(audits, "a", "b", "c", "d")).containsExactly(List.of("a", "c"),
+            List.of("b"), List.of("d"));
+    }
+
+    @Test
+    void lanesAreJoinedTransitively() {
+        // d links the lanes of a and b, which were separate until then
+        final Map<String, Set<String>> audits = Map.of(
+            "a", Set.of("src"),
+            "b", Set.of("test"),
+            "c", Set.of("other"),
+            "d", Set.of("test", "src"));
+
+        assertThat(getLanes(audits, "a", "b", "c", "d")).containsExactly(List.of("a", "b", "d"),
+            List.of("c"));
+    }
+
+    @Test
+    void laneKeepsClaimOrder() {
+        final Map<String, Set<String>> audits = Map.of(
+            "c", Set.of("src"),
+            "a", Set.of("src"),
+            "b", Set.of("src"));
+
+        assertThat(getLanes(audits, "c", "a", "b")).containsExactly(List.of("c", "a", "b"));
+    }
+
+    private static List<List<String>> getLanes(Map<String, Set<String>> audits,
+        String... claimOrder) {
+        final Set<String> ordered = new LinkedHashSet<>(List.of(claimOrder));
+        return new ArrayList<>(ConcurrentAuditRunner.getLanes(ordered, audits::get));
+    }
+}
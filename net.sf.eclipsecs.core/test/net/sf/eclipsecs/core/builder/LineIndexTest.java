@@ -0,0 +1,60 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.junit.jupiter.api.Test;
+
+class LineIndexTest {
+
+    @Test
+    void offsetsMatchDocument() throws BadLocationException {
+        for (String text : List.of("", "a", "a\nbc\n", "a\r\nbc\r\n\r\nd", "a\rb\r\nc\nd",
+            "\n\n", "\r\r\n\n", "line without delimiter", "\r\n")) {
+            final LineIndex index = LineIndex.create(text);
+            final Document document = new Document(text);
+
+            assertThat(index.getLineCount()).as(text).isEqualTo(document.getNumberOfLines());
+            for (int line = 0; line < index.getLineCount(); line++) {
+                assertThat(index.getLineOffset(line)).as("offset of %d in %s", line, text)
+                    .isEqualTo(document.getLineOffset(line));
+                assertThat(index.getLineLength(line)).as("length of %d in %s", line, text)
+                    .isEqualTo(document.getLineInformation(line).getLength());
+            }
+        }
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() {
+        final String text = "x\n".repeat(200);
+        final LineIndex index = LineIndex.create(text);
+
+        assertThat(index.getLineCount()).isEqualTo(201);
+        assertThat(index.getLineOffset(150)).isEqualTo(300);
+        assertThat(index.getLineLength(150)).isEqualTo(1);
+        assertThat(index.getLineLength(200)).isZero();
+    }
+}
@@ -0,0 +1,194 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.jupiter.api.Test;
+
+import net.sf.eclipsecs.core.builder.Violation.Range;
+import net.sf.eclipsecs.core.testutil.FakeResources;
+
+class MarkerReconcilerTest {
+
+    private static final Violation UNUSED_IMPORT = new Violation("UnusedImports",
+        "import.unused", null, IMarker.SEVERITY_WARNING, 3, 8, "Unused import", new Range(20, 30));
+
+    private static final Violation LINE_LENGTH = new Violation("LineLength", "maxLineLen", null,
+        IMarker.SEVERITY_WARNING, 5, 0, "Line is too long", null);
+
+    /** The markers of the resource with their attributes. */
+    private final Map<IMarker, Map<String, Object>> mMarkers = new HashMap<>();
+
+    /** The markers whose attributes were changed after their creation. */
+    private final List<IMarker> mUpdatedMarkers = new ArrayList<>();
+
+    private final List<IMarker> mCreatedMarkers = new ArrayList<>();
+
+    private final List<IMarker> mDeletedMarkers = new ArrayList<>();
+
+    private final IResource mResource = createResource();
+
+    @Test
+    void unchangedViolationsKeepTheirMarkers() throws CoreException {
+        final IMarker unusedImport = addMarker(UNUSED_IMPORT);
+        final IMarker lineLength = addMarker(LINE_LENGTH);
+
+        MarkerReconciler.reconcile(mResource, List.of(LINE_LENGTH, UNUSED_IMPORT));
+
+        assertThat(mMarkers).containsOnlyKeys(unusedImport, lineLength);
+        assertThat(mCreatedMarkers).isEmpty();
+        assertThat(mUpdatedMarkers).isEmpty();
+        assertThat(mDeletedMarkers).isEmpty();
+    }
+
+    @Test
+    void changedMessageUpdatesMarker() throws CoreException {
+        final IMarker marker = addMarker(UNUSED_IMPORT);
+        final Violation changed = new Violation("UnusedImports", "import.unused", null,
+            IMarker.SEVERITY_ERROR, 3, 8, "Unused import - java.util.List", new Range(20, 45));
+
+        MarkerReconciler.reconcile(mResource, List.of(changed));
+
+        assertThat(mMarkers).containsOnlyKeys(marker);
+        assertThat(mMarkers.get(marker)).isEqualTo(changed.toMarkerAttributes());
+        assertThat(mUpdatedMarkers).containsExactly(marker);
+        assertThat(mCreatedMarkers).isEmpty();
+    }
+
+    @Test
+    void movedViolationReplacesMarker() throws CoreException {
+        final IMarker marker = addMarker(LINE_LENGTH);
+        final Violation moved = new Violation("LineLength", "maxLineLen", null,
+            IMarker.SEVERITY_WARNING, 6, 0, "Line is too long", null);
+
+        MarkerReconciler.reconcile(mResource, List.of(moved));
+
+        assertThat(mDeletedMarkers).containsExactly(marker);
+        assertThat(mCreatedMarkers).hasSize(1);
+        assertThat(mMarkers.values()).containsExactly(moved.toMarkerAttributes());
+    }
+
+    @Test
+    void duplicateViolationsMatchOneMarkerEach() throws CoreException {
+        final IMarker marker = addMarker(LINE_LENGTH);
+
+        MarkerReconciler.reconcile(mResource, List.of(LINE_LENGTH, LINE_LENGTH));
+
+        assertThat(mMarkers).containsKey(marker).hasSize(2);
+        assertThat(mCreatedMarkers).hasSize(1);
+        assertThat(mDeletedMarkers).isEmpty();
+    }
+
+    @Test
+    void disappearedViolationsRemoveMarkers() throws CoreException {
+        final IMarker unusedImport = addMarker(UNUSED_IMPORT);
+        final IMarker lineLength = addMarker(LINE_LENGTH);
+
+        MarkerReconciler.reconcile(mResource, List.of(LINE_LENGTH));
+
+        assertThat(mMarkers).containsOnlyKeys(lineLength);
+        assertThat(mDeletedMarkers).containsExactly(unusedImport);
+    }
+
+    private IMarker addMarker(Violation violation) {
+        final IMarker marker = createMarker();
+        mMarkers.put(marker, violation.toMarkerAttributes());
+        return marker;
+    }
+
+    private IResource createResource() {
+        final IWorkspace workspace = FakeResources.createFake(IWorkspace.class, (method, args) -> {
+            if (!"deleteMarkers".equals(method)) {
+                throw new UnsupportedOperationException(method);
+            }
+            deleteMarkers((IMarker[]) args[0]);
+            return null;
+        });
+
+        return FakeResources.createFake(IResource.class, (method, args) -> switch (method) {
+            case "findMarkers" -> mMarkers.keySet().toArray(new IMarker[0]);
+            case "createMarker" -> createNewMarker();
+            case "getWorkspace" -> workspace;
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    private IMarker createNewMarker() {
+        final IMarker marker = createMarker();
+        mMarkers.put(marker, null);
+        mCreatedMarkers.add(marker);
+        return marker;
+    }
+
+    private void deleteMarkers(IMarker... markers) {
+        for (IMarker marker : markers) {
+            mMarkers.remove(marker);
+            mDeletedMarkers.add(marker);
+        }
+    }
+
+    private IMarker createMarker() {
+        final IMarker[] marker = new IMarker[1];
+        marker[0] = FakeResources.createFake(IMarker.class, (method, args) -> switch (method) {
+            case "getAttributes" -> getAttributes(marker[0], args);
+            case "setAttributes" -> setAttributes(marker[0], args[0]);
+            default -> throw new UnsupportedOperationException(method);
+        });
+        return marker[0];
+    }
+
+    private Object getAttributes(IMarker marker, Object... args) {
+        final Map<String, Object> attributes = mMarkers.get(marker);
+        final Object result;
+        if (args == null) {
+            result = new HashMap<>(attributes);
+        }
+        else {
+            final String[] names = (String[]) args[0];
+            final Object[] values = new Object[names.length];
+            for (int i = 0; i < names.length; i++) {
+                values[i] = attributes.get(names[i]);
+            }
+            result = values;
+        }
+        return result;
+    }
+
+    private Object setAttributes(IMarker marker, Object attributes) {
+        if (mMarkers.get(marker) != null) {
+            mUpdatedMarkers.add(marker);
+        }
+        @SuppressWarnings("unchecked")
+        final Map<String, Object> newAttributes = (Map<String, Object>) attributes;
+        mMarkers.put(marker, new HashMap<>(newAttributes));
+        return null;
+    }
+}
@@ -0,0 +1,205 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.builder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.jupiter.api.Test;
+
+import net.sf.eclipsecs.core.config.CheckConfiguration;
+import net.sf.eclipsecs.core.config.ICheckConfiguration;
+import net.sf.eclipsecs.core.config.configtypes.IConfigurationType;
+import net.sf.eclipsecs.core.projectconfig.FileMatchPattern;
+import net.sf.eclipsecs.core.projectconfig.FileSet;
+import net.sf.eclipsecs.core.projectconfig.IProjectConfiguration;
+import net.sf.eclipsecs.core.projectconfig.filters.IFilter;
+import net.sf.eclipsecs.core.testutil.FakeResources;
+import net.sf.eclipsecs.core.util.CheckstylePluginException;
+
+class ProjectConfigurationSnapshotTest {
+
+    private final IFile mSource = FakeResources.createFile("src/Foo.java");
+
+    private final IFile mGenerated = FakeResources.createFile("src/gen/Bar.java");
+
+    private final IFile mTest = FakeResources.createFile("test/FooTest.java");
+
+    private final IFile mReadme = FakeResources.createFile("README.md");
+
+    private final IProject mProject =
+        FakeResources.createProject(List.of(mSource, mGenerated, mTest, mReadme));
+
+    /** The modification stamps of the check configurations by name. */
+    private final Map<String, Long> mStamps = new HashMap<>();
+
+    private final IConfigurationType mType = FakeResources.createFake(IConfigurationType.class,
+        (method, args) -> {
+            if (!"getModificationStamp".equals(method)) {
+                throw new UnsupportedOperationException(method);
+            }
+            return mStamps.get(((ICheckConfiguration) args[0]).getName());
+        });
+
+    private final ICheckConfiguration mMain = createCheckConfiguration("main");
+
+    private final ICheckConfiguration mGenerator = createCheckConfiguration("generator");
+
+    @Test
+    void equalConfigurationsAreEquivalent() throws Exception {
+        final ProjectConfigurationSnapshot previous = ProjectConfigurationSnapshot
+            .take(createConfiguration(createFileSet(mMain, "include:.java$")));
+        final ProjectConfigurationSnapshot current = ProjectConfigurationSnapshot
+            .take(createConfiguration(createFileSet(mMain, "include:.java$")));
+
+        assertThat(current.isEquivalent(previous)).isTrue();
+        assertThat(getChangedFiles(current, previous, new HashSet<>())).isEmpty();
+    }
+
+    @Test
+    void excludedFilesAreRemoved() throws Exception {
+        final ProjectConfigurationSnapshot previous = ProjectConfigurationSnapshot
+            .take(createConfiguration(createFileSet(mMain, "include:.java$")));
+        final ProjectConfigurationSnapshot current = ProjectConfigurationSnapshot.take(
+            createConfiguration(createFileSet(mMain, "include:.java$", "exclude:^src/gen/")));
+        final Set<IResource> removedFiles = new HashSet<>();
+
+        assertThat(current.isEquivalent(previous)).isFalse();
+        assertThat(getChangedFiles(current, previous, removedFiles)).isEmpty();
+        assertThat(removedFiles).containsExactly(mGenerated);
+    }
+
+    @Test
+    void reassignedFilesAreChanged() throws Exception {
+        final ProjectConfigurationSnapshot previous = ProjectConfigurationSnapshot.take(
+            createConfiguration(createFileSet(mMain, "include:.java$", "exclude:^src/gen/")));
+        final ProjectConfigurationSnapshot current = ProjectConfigurationSnapshot.take(
+            createConfiguration(createFileSet(mMain, "include:.java$", "exclude:^src/gen/"),
+                createFileSet(mGenerator, "include:^src/gen/")));
+        final Set<IResource> removedFiles = new HashSet<>();
+
+        assertThat(getChangedFiles(current, previous, removedFiles))
+            .containsExactly(mGenerated);
+        assertThat(removedFiles).isEmpty();
+    }
+
+    @Test
+    void modifiedCheckConfigurationChangesItsFiles() throws Exception {
+        final IProjectConfiguration configuration = createConfiguration(
+            createFileSet(mMain, "include:^src/", "exclude:^src/gen/"),
+            createFileSet(mGenerator, "include:^src/gen/"));
+        final ProjectConfigurationSnapshot previous =
+            ProjectConfigurationSnapshot.take(configuration);
+        mStamps.put(mGenerator.getName(), 2L);
+        final ProjectConfigurationSnapshot current =
+            ProjectConfigurationSnapshot.take(configuration);
+        final Set<IResource> removedFiles = new HashSet<>();
+
+        assertThat(current.isEquivalent(previous)).isFalse();
+        assertThat(getChangedFiles(current, previous, removedFiles))
+            .containsExactly(mGenerated);
+        assertThat(removedFiles).isEmpty();
+    }
+
+    private Set<IResource> getChangedFiles(ProjectConfigurationSnapshot current,
+        ProjectConfigurationSnapshot previous, Set<IResource> removedFiles)
+            throws CoreException {
+        return current.getChangedFiles(mProject, previous, removedFiles);
+    }
+
+    private ICheckConfiguration createCheckConfiguration(String name) {
+        mStamps.put(name, 1L);
+        return new CheckConfiguration(name, name + ".xml", null, mType, true, null, null);
+    }
+
+    private static IProjectConfiguration createConfiguration(FileSet... fileSets) {
+        return new TestConfiguration(List.of(fileSets));
+    }
+
+    private static FileSet createFileSet(ICheckConfiguration checkConfig, String... patterns)
+            throws CheckstylePluginException {
+        final List<FileMatchPattern> matchPatterns = new ArrayList<>();
+        for (String pattern : patterns) {
+            final String[] parts = pattern.split(":", 2);
+            final FileMatchPattern matchPattern = new FileMatchPattern(parts[1]);
+            matchPattern.setIsIncludePattern("include".equals(parts[0]));
+            matchPatterns.add(matchPattern);
+        }
+        final FileSet fileSet = new FileSet(checkConfig.getName(), checkConfig);
+        fileSet.setFileMatchPatterns(matchPatterns);
+        return fileSet;
+    }
+
+    /**
+     * Project configuration with file sets only, equal configurations have equal file sets.
+     *
+     * @param fileSets
+     *            the file sets
+     */
+    private record TestConfiguration(List<FileSet> fileSets) implements IProjectConfiguration {
+
+        @Override
+        public IProject getProject() {
+            return null;
+        }
+
+        @Override
+        public <T extends ICheckConfiguration> List<T> getLocalCheckConfigurations() {
+            return List.of();
+        }
+
+        @Override
+        public List<FileSet> getFileSets() {
+            return fileSets;
+        }
+
+        @Override
+        public List<IFilter> getFilters() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isUseSimpleConfig() {
+            return false;
+        }
+
+        @Override
+        public boolean isConfigInUse(ICheckConfiguration configuration) {
+            return fileSets.stream().anyMatch(fileSet -> configuration.equals(
+                fileSet.getCheckConfig()));
+        }
+
+        @Override
+        public boolean isSyncFormatter() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.config.configtypes;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.sf.eclipsecs.core.config.CheckConfiguration;
+import net.sf.eclipsecs.core.config.ICheckConfiguration;
+import net.sf.eclipsecs.core.config.configtypes.RemoteResourceCache.RemoteResource;
+
+class RemoteConfigurationTypeTest {
+
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+    @TempDir
+    Path mTempDir;
+
+    private final List<Integer> mResponseCodes = Collections.synchronizedList(new ArrayList<>());
+
+    private final AtomicInteger mVersion = new AtomicInteger(1);
+
+    private final RemoteConfigurationType mType = new RemoteConfigurationType();
+
+    private HttpServer mServer;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        mServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        mServer.createContext("/", this::handle);
+        mServer.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        mServer.stop(0);
+    }
+
+    @Test
+    void unchangedResourceIsServedFromCache() throws IOException {
+        final URL url = getURL("/unchanged.xml");
+
+        final RemoteResource first = mType.fetch(url, null, null, createCheckConfiguration(url));
+        assertThat(first.bytes()).asString(UTF_8).isEqualTo(getContent());
+        assertThat(first.etag()).isEqualTo("\"1\"");
+        assertThat(first.lastModified()).isEqualTo(LAST_MODIFIED);
+
+        final RemoteResource second = mType.fetch(url, null, null, createCheckConfiguration(url));
+        assertThat(second.bytes()).isEqualTo(first.bytes());
+        assertThat(second.getModificationStamp()).isEqualTo(first.getModificationStamp());
+        assertThat(mResponseCodes).containsExactly(HttpURLConnection.HTTP_OK,
+            HttpURLConnection.HTTP_NOT_MODIFIED);
+    }
+
+    @Test
+    void changedResourceIsFetchedAgain() throws IOException {
+        final URL url = getURL("/changed.xml");
+        final RemoteResource first = mType.fetch(url, null, null, createCheckConfiguration(url));
+
+        mVersion.incrementAndGet();
+
+        final RemoteResource second = mType.fetch(url, null, null, createCheckConfiguration(url));
+        assertThat(second.bytes()).asString(UTF_8).isEqualTo(getContent());
+        assertThat(second.etag()).isEqualTo("\"2\"");
+        assertThat(second.getModificationStamp()).isNotEqualTo(first.getModificationStamp());
+        assertThat(mResponseCodes).containsExactly(HttpURLConnection.HTTP_OK,
+            HttpURLConnection.HTTP_OK);
+    }
+
+    @Test
+    void cacheFileIsServedAfterNotModified() throws IOException {
+        final URL url = getURL("/cached.xml");
+        final File cacheFile = mTempDir.resolve("cached.xml").toFile();
+
+        mType.fetch(url, null, cacheFile, createCheckConfiguration(url));
+        assertThat(cacheFile).hasContent(getContent());
+        assertThat(new File(cacheFile.getPath() + ".validators")).isFile();
+
+        final RemoteResource second =
+            mType.fetch(url, null, cacheFile, createCheckConfiguration(url));
+        assertThat(second.bytes()).asString(UTF_8).isEqualTo(getContent());
+        assertThat(mResponseCodes).containsExactly(HttpURLConnection.HTTP_OK,
+            HttpURLConnection.HTTP_NOT_MODIFIED);
+    }
+
+    @Test
+    void deletedCacheFileIsFetchedUnconditionally() throws IOException {
+        final URL url = getURL("/deleted.xml");
+        final File cacheFile = mTempDir.resolve("deleted.xml").toFile();
+
+        mType.fetch(url, null, cacheFile, createCheckConfiguration(url));
+        Files.delete(cacheFile.toPath());
+
+        final RemoteResource second =
+            mType.fetch(url, null, cacheFile, createCheckConfiguration(url));
+        assertThat(second.bytes()).asString(UTF_8).isEqualTo(getContent());
+        assertThat(cacheFile).hasContent(getContent());
+        assertThat(mResponseCodes).containsExactly(HttpURLConnection.HTTP_OK,
+            HttpURLConnection.HTTP_OK);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        final int version = mVersion.get();
+        final String etag = "\"" + version + "\"";
+        final byte[] content = getContent().getBytes(UTF_8);
+
+        int responseCode = HttpURLConnection.HTTP_OK;
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            responseCode = HttpURLConnection.HTTP_NOT_MODIFIED;
+        }
+        mResponseCodes.add(responseCode);
+
+        exchange.getResponseHeaders().add("ETag", etag);
+        exchange.getResponseHeaders().add("Last-Modified",
+            DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(LAST_MODIFIED)
+                .plusSeconds(version - 1).atOffset(ZoneOffset.UTC)));
+        if (responseCode == HttpURLConnection.HTTP_OK) {
+            exchange.sendResponseHeaders(responseCode, content.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(content);
+            }
+        }
+        else {
+            exchange.sendResponseHeaders(responseCode, -1);
+        }
+        exchange.close();
+    }
+
+    private String getContent() {
+        return "<module name=\"Checker\"><!-- version " + mVersion.get() + " --></module>";
+    }
+
+    private URL getURL(String path) throws IOException {
+        return new URL("http", mServer.getAddress().getHostString(),
+            mServer.getAddress().getPort(), path);
+    }
+
+    private ICheckConfiguration createCheckConfiguration(URL url) {
+        return new CheckConfiguration("remote", url.toString(), null, mType, true, null,
+            Map.of());
+    }
+}
@@ -0,0 +1,99 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.projectconfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.junit.jupiter.api.Test;
+
+import net.sf.eclipsecs.core.testutil.FakeResources;
+import net.sf.eclipsecs.core.util.CheckstylePluginException;
+
+class FileSetMatcherTest {
+
+    private static final List<String> PATHS = List.of("src/Foo.java", "src/gen/Bar.java",
+        "test/FooTest.java", "src/gen/Baz.properties", "README.md");
+
+    @Test
+    void matchesLikeFileSets() throws CheckstylePluginException {
+        final List<FileSet> fileSets = List.of(
+            createFileSet("java", "include:.java$"),
+            createFileSet("no generated", "include:.java$", "exclude:^src/gen/"),
+            createFileSet("generated again", "include:.java$", "exclude:/gen/",
+                "include:Bar"),
+            createFileSet("all", "include:."),
+            createFileSet("none", "exclude:."));
+
+        final FileSetMatcher matcher = FileSetMatcher.compile(fileSets);
+        for (String path : PATHS) {
+            final IFile file = FakeResources.createFile(path);
+
+            final List<FileSet> expected = new ArrayList<>();
+            for (FileSet fileSet : fileSets) {
+                if (fileSet.includesFile(file)) {
+                    expected.add(fileSet);
+                }
+            }
+            assertThat(matcher.getMatchingFileSets(file)).as(path)
+                .containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void lastMatchingPatternWins() throws CheckstylePluginException {
+        final FileSet fileSet =
+            createFileSet("last wins", "exclude:^src/gen/", "include:.java$");
+        final FileSetMatcher matcher = FileSetMatcher.compile(List.of(fileSet));
+
+        assertThat(matcher.getMatchingFileSets(FakeResources.createFile("src/gen/Bar.java")))
+            .containsExactly(fileSet);
+        assertThat(
+            matcher.getMatchingFileSets(FakeResources.createFile("src/gen/Baz.properties")))
+                .isEmpty();
+    }
+
+    @Test
+    void fileSetWithoutPatternsMatchesNothing() {
+        final FileSetMatcher matcher =
+            FileSetMatcher.compile(List.of(new FileSet("empty", null)));
+
+        assertThat(matcher.getMatchingFileSets(FakeResources.createFile("src/Foo.java")))
+            .isEmpty();
+    }
+
+    private static FileSet createFileSet(String name, String... patterns)
+            throws CheckstylePluginException {
+        final List<FileMatchPattern> matchPatterns = new ArrayList<>();
+        for (String pattern : patterns) {
+            final String[] parts = pattern.split(":", 2);
+            final FileMatchPattern matchPattern = new FileMatchPattern(parts[1]);
+            matchPattern.setIsIncludePattern("include".equals(parts[0]));
+            matchPatterns.add(matchPattern);
+        }
+        final FileSet fileSet = new FileSet(name, null);
+        fileSet.setFileMatchPatterns(matchPatterns);
+        return fileSet;
+    }
+}
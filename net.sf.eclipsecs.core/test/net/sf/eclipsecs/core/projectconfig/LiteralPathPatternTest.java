@@ -0,0 +1,64 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.projectconfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+class LiteralPathPatternTest {
+
+    private static final List<String> PATHS = List.of("src/Foo.java", "src/main/java/Foo.java",
+        "test/src/Bar.java", "Foo.javax", "src/Foo.jav", ".java", "src/a.b/Foo.java",
+        "src/Foo\r.java", "src$/Foo.java", "");
+
+    @Test
+    void literalPatternsMatchLikeRegex() {
+        for (String regex : List.of(".java$", "^src/", "^src/Foo.java$", "Foo", "java",
+            "\\.java$", "^src\\$/", "a\\.b", ".", "^.java$", "Foo\\.java")) {
+            final LiteralPathPattern pattern = LiteralPathPattern.parse(regex);
+            assertThat(pattern).as(regex).isNotNull();
+            for (String path : PATHS) {
+                assertThat(pattern.isMatch(path)).as("%s in %s", regex, path)
+                    .isEqualTo(Pattern.compile(regex).matcher(path).find());
+            }
+        }
+    }
+
+    @Test
+    void regularExpressionsNeedRegexEngine() {
+        for (String regex : List.of(".*\\.java$", "src/(main|test)/", "[a-z]+\\.java",
+            "Foo?\\.java", "\\w+\\.java", "\\d", "a{2}", "src|test")) {
+            assertThat(LiteralPathPattern.parse(regex)).as(regex).isNull();
+        }
+    }
+
+    @Test
+    void escapedEndAnchorIsLiteral() {
+        final LiteralPathPattern pattern = LiteralPathPattern.parse("src\\$");
+        assertThat(pattern).isNotNull();
+        assertThat(pattern.isMatch("src$/Foo.java")).isTrue();
+        assertThat(pattern.isMatch("src/Foo.java")).isFalse();
+    }
+}
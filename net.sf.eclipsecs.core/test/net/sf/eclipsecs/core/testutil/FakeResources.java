@@ -0,0 +1,150 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.core.testutil;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.IResourceProxyVisitor;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+/**
+ * Creates fake workspace resources for tests running without a workspace. The fakes answer the
+ * methods the tested code calls, equal fakes are identical.
+ */
+public final class FakeResources {
+
+    /** The name of the fake project. */
+    private static final String PROJECT_NAME = "project";
+
+    /**
+     * Hidden utility class constructor.
+     */
+    private FakeResources() {
+        // noop
+    }
+
+    /**
+     * Creates a fake implementation of an interface. Calls to <code>equals</code>,
+     * <code>hashCode</code> and <code>toString</code> are answered by identity, all other calls
+     * by the handler.
+     *
+     * @param <T>
+     *            the interface
+     * @param type
+     *            the interface
+     * @param handler
+     *            answers the calls by method name and arguments
+     * @return the fake
+     */
+    public static <T> T createFake(Class<T> type, BiFunction<String, Object[], Object> handler) {
+        final Object fake = Proxy.newProxyInstance(FakeResources.class.getClassLoader(),
+            new Class<?>[] {type}, (proxy, method, args) -> switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> type.getSimpleName() + "@"
+                    + Integer.toHexString(System.identityHashCode(proxy));
+                default -> handler.apply(method.getName(), args);
+            });
+        return type.cast(fake);
+    }
+
+    /**
+     * Creates an existing fake file.
+     *
+     * @param projectRelativePath
+     *            the project relative path of the file
+     * @return the file
+     */
+    public static IFile createFile(String projectRelativePath) {
+        return createFile(projectRelativePath, null);
+    }
+
+    /**
+     * Creates an existing fake file backed by a file of the file system.
+     *
+     * @param projectRelativePath
+     *            the project relative path of the file
+     * @param location
+     *            the file of the file system or <code>null</code>
+     * @return the file
+     */
+    public static IFile createFile(String projectRelativePath, File location) {
+        final IPath path = new Path(projectRelativePath);
+        return createFake(IFile.class, (method, args) -> switch (method) {
+            case "getProjectRelativePath" -> path;
+            case "getFullPath" -> new Path(PROJECT_NAME).append(path).makeAbsolute();
+            case "getLocation" -> location != null ? new Path(location.getAbsolutePath()) : null;
+            case "getName" -> path.lastSegment();
+            case "getType" -> IResource.FILE;
+            case "exists" -> true;
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    /**
+     * Creates a fake project containing the given files. Visiting the project visits the project
+     * itself and then the files, without their folders.
+     *
+     * @param files
+     *            the files of the project
+     * @return the project
+     */
+    public static IProject createProject(List<IFile> files) {
+        return createFake(IProject.class, (method, args) -> {
+            if (!"accept".equals(method) || !(args[0] instanceof IResourceProxyVisitor visitor)) {
+                throw new UnsupportedOperationException(method);
+            }
+            visit(visitor, files);
+            return null;
+        });
+    }
+
+    private static void visit(IResourceProxyVisitor visitor, List<IFile> files) {
+        try {
+            visitor.visit(createResourceProxy(null));
+            for (IFile file : files) {
+                visitor.visit(createResourceProxy(file));
+            }
+        }
+        catch (CoreException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static IResourceProxy createResourceProxy(IFile file) {
+        return createFake(IResourceProxy.class, (method, args) -> switch (method) {
+            case "getType" -> file != null ? IResource.FILE : IResource.PROJECT;
+            case "requestFullPath" -> file != null ? file.getFullPath()
+                : new Path("/" + PROJECT_NAME);
+            case "requestResource" -> file;
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+}
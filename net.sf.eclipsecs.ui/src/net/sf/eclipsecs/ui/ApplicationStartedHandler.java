@@ -20,24 +20,33 @@
 
 package net.sf.eclipsecs.ui;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.eclipse.core.resources.IProject;
 import org.eclipse.e4.ui.workbench.UIEvents;
+import org.eclipse.ui.IEditorReference;
 import org.eclipse.ui.IWindowListener;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchPartReference;
 import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PartInitException;
 import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.part.FileEditorInput;
 import org.eclipse.ui.progress.IProgressService;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.event.EventConstants;
 import org.osgi.service.event.EventHandler;
 
+import net.sf.eclipsecs.core.CheckstylePluginPrefs;
 import net.sf.eclipsecs.core.jobs.AbstractCheckJob;
+import net.sf.eclipsecs.core.jobs.PrewarmCheckersJob;
 import net.sf.eclipsecs.ui.properties.filter.CheckFileOnOpenPartListener;
+import net.sf.eclipsecs.ui.reconcile.EditorReconcilePartListener;
 
 /**
  * Event handler being called when the eclipse application has started.
@@ -48,11 +57,15 @@ public final class ApplicationStartedHandler implements EventHandler {
     /** Part listener for check-on-open support. */
     private final CheckFileOnOpenPartListener mPartListener = new CheckFileOnOpenPartListener();
 
+    /** Part listener checking the editor content while typing. */
+    private final EditorReconcilePartListener mReconcileListener =
+        new EditorReconcilePartListener();
+
     /** Window listener for the workbench. */
     private final IWindowListener mWindowListener = new IWindowListener() {
         @Override
         public void windowOpened(IWorkbenchWindow window) {
-            window.getPartService().addPartListener(mPartListener);
+            addPartListeners(window);
         }
 
         @Override
@@ -61,7 +74,7 @@ public final class ApplicationStartedHandler implements EventHandler {
 
         @Override
         public void windowClosed(IWorkbenchWindow window) {
-            window.getPartService().removePartListener(mPartListener);
+            removePartListeners(window);
         }
 
         @Override
@@ -74,6 +87,9 @@ public final class ApplicationStartedHandler implements EventHandler {
         if (UIEvents.UILifeCycle.APP_STARTUP_COMPLETE.equals(event.getTopic())) {
             registerListener();
             registerProgressIcon();
+            if (CheckstylePluginPrefs.getBoolean(CheckstylePluginPrefs.PREF_PREWARM_CHECKERS)) {
+                prewarmCheckers();
+            }
         }
     }
 
@@ -90,16 +106,52 @@ public final class ApplicationStartedHandler implements EventHandler {
                         Arrays.stream(window.getPages()).map(IWorkbenchPage::getEditorReferences)
                             .flatMap(Arrays::stream).collect(Collectors.toSet());
                     mPartListener.partsOpened(parts);
+                    parts.forEach(mReconcileListener::partOpened);
                     // remove listener first for safety,
                     // we don't want to register the same listener twice accidently
-                    window.getPartService().removePartListener(mPartListener);
-                    window.getPartService().addPartListener(mPartListener);
+                    removePartListeners(window);
+                    addPartListeners(window);
                 }
                 workbench.addWindowListener(mWindowListener);
             }
         });
     }
 
+    private void addPartListeners(IWorkbenchWindow window) {
+        window.getPartService().addPartListener(mPartListener);
+        window.getPartService().addPartListener(mReconcileListener);
+    }
+
+    private void removePartListeners(IWorkbenchWindow window) {
+        window.getPartService().removePartListener(mPartListener);
+        window.getPartService().removePartListener(mReconcileListener);
+    }
+
+    private static void prewarmCheckers() {
+        // pre-warm the projects of the open editors first, most likely they get edited next
+        final IWorkbench workbench = PlatformUI.getWorkbench();
+        workbench.getDisplay().asyncExec(() -> {
+            final List<IProject> editorProjects = new ArrayList<>();
+            for (IWorkbenchWindow window : workbench.getWorkbenchWindows()) {
+                Arrays.stream(window.getPages()).map(IWorkbenchPage::getEditorReferences)
+                    .flatMap(Arrays::stream)
+                    .forEach(editorRef -> addEditorProject(editorRef, editorProjects));
+            }
+            new PrewarmCheckersJob(editorProjects).schedule();
+        });
+    }
+
+    private static void addEditorProject(IEditorReference editorRef, List<IProject> projects) {
+        try {
+            if (editorRef.getEditorInput() instanceof FileEditorInput input) {
+                projects.add(input.getFile().getProject());
+            }
+        }
+        catch (PartInitException ex) {
+            // editor without a file
+        }
+    }
+
     protected void registerProgressIcon() {
         final IProgressService service = PlatformUI.getWorkbench().getProgressService();
         if (service != null) {
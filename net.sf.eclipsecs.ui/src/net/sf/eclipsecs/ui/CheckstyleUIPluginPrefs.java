@@ -81,6 +81,22 @@ public class CheckstyleUIPluginPrefs extends AbstractPreferenceInitializer {
      */
     public static final String PREF_STATS_SHOW_ALL_CATEGORIES = "show_all_categories";
 
+    /**
+     * Preference name indicating if the content of text editors should be checked while typing.
+     */
+    public static final String PREF_RECONCILE_EDITORS = "reconcile.editors";
+
+    /**
+     * Preference name for the number of milliseconds typing has to pause before the editor content
+     * gets checked.
+     */
+    public static final String PREF_RECONCILE_DELAY = "reconcile.delay";
+
+    /**
+     * Default value for the reconcile delay in milliseconds.
+     */
+    public static final int RECONCILE_DELAY = 500;
+
     @Override
     public void initializeDefaultPreferences() {
 
@@ -94,6 +110,8 @@ public class CheckstyleUIPluginPrefs extends AbstractPreferenceInitializer {
         prefs.putBoolean(PREF_OPEN_MODULE_EDITOR, true);
         prefs.putInt(PREF_DUPLICATED_CODE_MIN_LINES, DUPLICATED_CODE_MIN_LINES);
         prefs.putBoolean(PREF_STATS_SHOW_ALL_CATEGORIES, false);
+        prefs.putBoolean(PREF_RECONCILE_EDITORS, false);
+        prefs.putInt(PREF_RECONCILE_DELAY, RECONCILE_DELAY);
 
         try {
             prefs.flush();
@@ -110,6 +110,16 @@ public final class Messages extends NLS {
 
     public static String CheckstylePreferencePage_txtBackgroundFullBuild0;
 
+    public static String CheckstylePreferencePage_txtAuditParallelismNote;
+
+    public static String CheckstylePreferencePage_txtAuditResultCache;
+
+    public static String CheckstylePreferencePage_txtPrewarmCheckers;
+
+    public static String CheckstylePreferencePage_txtReconcileEditors;
+
+    public static String CheckstylePreferencePage_txtCheckerCacheSizeNote;
+
     public static String CheckstylePreferencePage_txtDefault;
 
     public static String CheckstylePreferencePage_colCheckConfig;
@@ -130,12 +140,50 @@ public final class Messages extends NLS {
 
     public static String CheckstylePreferencePage_lblGeneralSettings;
 
+    public static String CheckstylePreferencePage_lblAuditSettings;
+
+    public static String CheckstylePreferencePage_lblCheckerCacheSettings;
+
+    public static String CheckstylePreferencePage_errorNumberRange;
+
+    public static String CheckstylePreferencePage_nameMarkerLimit;
+
+    public static String CheckstylePreferencePage_nameAuditParallelism;
+
+    public static String CheckstylePreferencePage_nameAuditConcurrency;
+
+    public static String CheckstylePreferencePage_nameAuditCoalescingDelay;
+
+    public static String CheckstylePreferencePage_nameCheckerCacheSize;
+
+    public static String CheckstylePreferencePage_nameCheckerCacheExpiry;
+
+    public static String CheckstylePreferencePage_nameCheckerPoolSize;
+
     public static String CheckstylePreferencePage_lblIncludeModuleIds;
 
     public static String CheckstylePreferencePage_lblIncludeRulenames;
 
     public static String CheckstylePreferencePage_lblLimitMarker;
 
+    public static String CheckstylePreferencePage_lblAuditParallelism;
+
+    public static String CheckstylePreferencePage_lblAuditCoalescingDelay;
+
+    public static String CheckstylePreferencePage_lblAuditConcurrency;
+
+    public static String CheckstylePreferencePage_lblCheckerCacheSize;
+
+    public static String CheckstylePreferencePage_lblCheckerCacheSizeUnit;
+
+    public static String CheckstylePreferencePage_lblCheckerCacheExpiry;
+
+    public static String CheckstylePreferencePage_lblCheckerPoolSize;
+
+    public static String CheckstylePreferencePage_btnCheckerCacheStatistics;
+
+    public static String CheckstylePreferencePage_titleCheckerCacheStatistics;
+
     public static String CheckstylePreferencePage_lblProjectUsage;
 
     public static String CheckstylePreferencePage_lblRebuild;
@@ -240,6 +288,8 @@ public final class Messages extends NLS {
 
     public static String DuplicatedCodeView_runningCheckstyleToRefresh;
 
+    public static String EditorReconciler_jobName;
+
     public static String errorFailedRebuild;
 
     public static String errorFailedSavePreferences;
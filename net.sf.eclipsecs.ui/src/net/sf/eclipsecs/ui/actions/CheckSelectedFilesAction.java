@@ -41,6 +41,7 @@ import org.eclipse.ui.IObjectActionDelegate;
 import org.eclipse.ui.IWorkbenchPart;
 import org.eclipse.ui.handlers.HandlerUtil;
 
+import net.sf.eclipsecs.core.jobs.AuditScheduler;
 import net.sf.eclipsecs.core.jobs.RunCheckstyleOnFilesJob;
 import net.sf.eclipsecs.ui.CheckstyleUIPlugin;
 
@@ -88,9 +89,8 @@ public class CheckSelectedFilesAction extends AbstractHandler implements IObject
         try {
             addFileResources(List.copyOf(resources), filesToCheck);
             if (!filesToCheck.isEmpty()) {
-                final RunCheckstyleOnFilesJob job = new RunCheckstyleOnFilesJob(filesToCheck);
-                job.setRule(job);
-                job.schedule();
+                // an explicit request is checked right away instead of being coalesced
+                AuditScheduler.schedule(new RunCheckstyleOnFilesJob(filesToCheck));
             }
         }
         catch (CoreException ex) {
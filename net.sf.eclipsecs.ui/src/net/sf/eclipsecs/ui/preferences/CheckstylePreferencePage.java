@@ -38,9 +38,11 @@ import org.eclipse.ui.IWorkbenchPreferencePage;
 import org.osgi.service.prefs.BackingStoreException;
 
 import net.sf.eclipsecs.core.CheckstylePluginPrefs;
+import net.sf.eclipsecs.core.builder.CheckerFactory;
 import net.sf.eclipsecs.core.builder.CheckstyleBuilder;
 import net.sf.eclipsecs.core.config.CheckConfigurationFactory;
 import net.sf.eclipsecs.core.config.ICheckConfigurationWorkingSet;
+import net.sf.eclipsecs.core.jobs.AuditScheduler;
 import net.sf.eclipsecs.core.util.CheckstylePluginException;
 import net.sf.eclipsecs.ui.CheckstyleUIPlugin;
 import net.sf.eclipsecs.ui.CheckstyleUIPluginPrefs;
@@ -80,7 +82,7 @@ public class CheckstylePreferencePage extends PreferencePage implements IWorkben
         GridDataFactory.fillDefaults().applyTo(header);
 
         this.generalSettings = new CheckstylePreferencePageGeneralSettings(ancestor, SWT.NONE,
-            () -> mRebuildAll = true);
+            () -> mRebuildAll = true, this::validateGeneralSettings);
         GridDataFactory.fillDefaults().applyTo(generalSettings);
 
         final Composite configComposite = createCheckConfigContents(ancestor);
@@ -108,6 +110,16 @@ public class CheckstylePreferencePage extends PreferencePage implements IWorkben
         return configComposite;
     }
 
+    /**
+     * Validates the number fields of the general settings, the page can only be stored while they
+     * are valid.
+     */
+    private void validateGeneralSettings() {
+        final String errorMessage = generalSettings.validate();
+        setErrorMessage(errorMessage);
+        setValid(errorMessage == null);
+    }
+
     @Override
     public void init(IWorkbench workbench) {
     }
@@ -158,7 +170,7 @@ public class CheckstylePreferencePage extends PreferencePage implements IWorkben
                 updateBooleanPreference(generalSettings.getLimitCheckstyleMarkers(),
                     CheckstylePluginPrefs.PREF_LIMIT_MARKERS_PER_RESOURCE);
 
-            final int markerLimitNow = Integer.parseInt(generalSettings.getTxtMarkerLimit());
+            final int markerLimitNow = generalSettings.getMarkerLimit();
             final int markerLimitOriginal =
                 CheckstylePluginPrefs.getInt(CheckstylePluginPrefs.PREF_MARKER_AMOUNT_LIMIT);
             CheckstylePluginPrefs.setInt(CheckstylePluginPrefs.PREF_MARKER_AMOUNT_LIMIT,
@@ -172,6 +184,11 @@ public class CheckstylePreferencePage extends PreferencePage implements IWorkben
             CheckstylePluginPrefs.setBoolean(CheckstylePluginPrefs.PREF_BACKGROUND_FULL_BUILD,
                 runInBackgroundNow);
 
+            //
+            // Parallel audit workers, result cache and checker cache preferences.
+            //
+            storeAuditPreferences();
+
             // See if all projects need rebuild
             final boolean needRebuildAllProjects =
                 needRebuildAllProjects(includeRuleNamesHasChanged, includeModuleIdHasChanged,
@@ -234,6 +251,43 @@ public class CheckstylePreferencePage extends PreferencePage implements IWorkben
         return selection != original;
     }
 
+    private void storeAuditPreferences() throws BackingStoreException {
+        CheckstylePluginPrefs.setBoolean(CheckstylePluginPrefs.PREF_AUDIT_RESULT_CACHE,
+            generalSettings.getAuditResultCache());
+        CheckstylePluginPrefs.setBoolean(CheckstylePluginPrefs.PREF_PREWARM_CHECKERS,
+            generalSettings.getPrewarmCheckers());
+        CheckstyleUIPluginPrefs.setBoolean(CheckstyleUIPluginPrefs.PREF_RECONCILE_EDITORS,
+            generalSettings.getReconcileEditors());
+
+        updateIntPreference(generalSettings.getAuditParallelism(),
+            CheckstylePluginPrefs.PREF_AUDIT_PARALLELISM);
+
+        final boolean cacheSizeHasChanged = updateIntPreference(
+            generalSettings.getCheckerCacheSize(), CheckstylePluginPrefs.PREF_CHECKER_CACHE_SIZE);
+        final boolean cacheExpiryHasChanged =
+            updateIntPreference(generalSettings.getCheckerCacheExpiry(),
+                CheckstylePluginPrefs.PREF_CHECKER_CACHE_EXPIRY);
+        final boolean poolSizeHasChanged = updateIntPreference(
+            generalSettings.getCheckerPoolSize(), CheckstylePluginPrefs.PREF_CHECKER_POOL_SIZE);
+        if (cacheSizeHasChanged || cacheExpiryHasChanged || poolSizeHasChanged) {
+            CheckerFactory.reconfigureCache();
+        }
+
+        updateIntPreference(generalSettings.getAuditCoalescingDelay(),
+            CheckstylePluginPrefs.PREF_AUDIT_COALESCING_DELAY);
+        if (updateIntPreference(generalSettings.getAuditConcurrency(),
+            CheckstylePluginPrefs.PREF_AUDIT_CONCURRENCY)) {
+            AuditScheduler.reconfigure();
+        }
+    }
+
+    private static boolean updateIntPreference(int value, String preference)
+            throws BackingStoreException {
+        final boolean changed = value != CheckstylePluginPrefs.getInt(preference);
+        CheckstylePluginPrefs.setInt(preference, value);
+        return changed;
+    }
+
     private boolean needRebuildAllProjects(boolean includeRuleNamesHasChanged,
         boolean includeModuleIdHasChanged, boolean limitMarkersHasChanged,
         boolean markerLimitHasChanged) {
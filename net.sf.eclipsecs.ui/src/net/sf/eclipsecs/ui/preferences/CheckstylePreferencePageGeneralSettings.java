@@ -23,13 +23,14 @@ package net.sf.eclipsecs.ui.preferences;
 import java.util.List;
 import java.util.Locale;
 
+import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.dialogs.MessageDialogWithToggle;
 import org.eclipse.jface.layout.GridDataFactory;
 import org.eclipse.jface.layout.GridLayoutFactory;
 import org.eclipse.jface.layout.RowLayoutFactory;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.SelectionListener;
-import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Combo;
@@ -63,8 +64,12 @@ public final class CheckstylePreferencePageGeneralSettings extends Composite {
         }
         return displayLang;
     }).toArray(String[]::new);
-    /** Maximum number of digits for the marker limit setting. */
-    private static final int MARKER_LIMIT_MAX_DIGITS = 5;
+    /** Maximum value of the marker limit setting. */
+    private static final int MARKER_LIMIT_MAX = 99999;
+    /** Maximum value of the settings counting workers, audits or checkers. */
+    private static final int COUNT_MAX = 99;
+    /** Maximum value of the checker cache size, cache expiry and coalescing delay settings. */
+    private static final int AMOUNT_MAX = 9999;
     /** Number of columns of the rebuild section. */
     private static final int REBUILD_SECTION_NUM_COLUMNS = 3;
 
@@ -81,19 +86,37 @@ public final class CheckstylePreferencePageGeneralSettings extends Composite {
     /** The checkbox to limit checkstyle markers. */
     private final Button mLimitCheckstyleMarkers;
     /** The text field for the marker limit. */
-    private final Text mTxtMarkerLimit;
+    private final NumberField mTxtMarkerLimit;
     /** The checkbox for running in background on full builds. */
     private final Button mBackgroundFullBuild;
+    /** The checkbox for caching audit results of unchanged files. */
+    private final Button mAuditResultCache;
+    /** The checkbox for pre-warming the checkers after startup. */
+    private final Button mPrewarmCheckers;
+    /** The checkbox for checking the editor content while typing. */
+    private final Button mReconcileEditors;
+    /** The text field for the number of parallel audit workers. */
+    private NumberField mTxtAuditParallelism;
+    /** The text field for the checker cache size. */
+    private NumberField mTxtCheckerCacheSize;
+    /** The text field for the checker cache expiry. */
+    private NumberField mTxtCheckerCacheExpiry;
+    /** The text field for the checker pool size. */
+    private NumberField mTxtCheckerPoolSize;
+    /** The text field for the delay coalescing requests to check files. */
+    private NumberField mTxtAuditCoalescingDelay;
+    /** The text field for the number of audits running concurrently. */
+    private NumberField mTxtAuditConcurrency;
+    /** Validates the page whenever a number field is modified. */
+    private final Runnable mValidate;
 
     public CheckstylePreferencePageGeneralSettings(Composite parent, int style,
-        Runnable setRebuildAll) {
+        Runnable setRebuildAll, Runnable validate) {
         super(parent, style);
-        setLayout(new FillLayout());
+        mValidate = validate;
+        GridLayoutFactory.fillDefaults().applyTo(this);
 
-        final Group group = new Group(this, style);
-
-        group.setText(Messages.CheckstylePreferencePage_lblGeneralSettings);
-        GridLayoutFactory.swtDefaults().applyTo(group);
+        final Group group = createGroup(Messages.CheckstylePreferencePage_lblGeneralSettings);
 
         languageIf = createLanguageSetting(group);
         mRebuildIfNeeded = createRebuildSection(group, setRebuildAll);
@@ -129,12 +152,9 @@ public final class CheckstylePreferencePageGeneralSettings extends Composite {
             Messages.CheckstylePreferencePage_lblLimitMarker, CheckstylePluginPrefs
                 .getBoolean(CheckstylePluginPrefs.PREF_LIMIT_MARKERS_PER_RESOURCE));
 
-        mTxtMarkerLimit = new Text(limitMarkersComposite, SWT.SINGLE | SWT.BORDER);
-        mTxtMarkerLimit.setTextLimit(MARKER_LIMIT_MAX_DIGITS);
-        SWTUtil.addOnlyDigitInputSupport(mTxtMarkerLimit);
-
-        mTxtMarkerLimit.setText(Integer.toString(
-            CheckstylePluginPrefs.getInt(CheckstylePluginPrefs.PREF_MARKER_AMOUNT_LIMIT)));
+        mTxtMarkerLimit = makeNumberField(limitMarkersComposite,
+            CheckstylePluginPrefs.PREF_MARKER_AMOUNT_LIMIT,
+            Messages.CheckstylePreferencePage_nameMarkerLimit, 1, MARKER_LIMIT_MAX);
 
         addRebuildNoteLabel(limitMarkersComposite);
 
@@ -148,6 +168,141 @@ public final class CheckstylePreferencePageGeneralSettings extends Composite {
         mBackgroundFullBuild = makeButton(backgroundFullBuildComposite, SWT.CHECK,
             Messages.CheckstylePreferencePage_txtBackgroundFullBuild0,
             CheckstylePluginPrefs.getBoolean(CheckstylePluginPrefs.PREF_BACKGROUND_FULL_BUILD));
+
+        //
+        // Create the "Cache audit results" check box.
+        //
+        final Group auditGroup = createGroup(Messages.CheckstylePreferencePage_lblAuditSettings);
+        mAuditResultCache = makeButton(auditGroup, SWT.CHECK,
+            Messages.CheckstylePreferencePage_txtAuditResultCache,
+            CheckstylePluginPrefs.getBoolean(CheckstylePluginPrefs.PREF_AUDIT_RESULT_CACHE));
+
+        //
+        // Create the "Check editor content while typing" check box.
+        //
+        mReconcileEditors = makeButton(auditGroup, SWT.CHECK,
+            Messages.CheckstylePreferencePage_txtReconcileEditors,
+            CheckstyleUIPluginPrefs.getBoolean(CheckstyleUIPluginPrefs.PREF_RECONCILE_EDITORS));
+
+        createAuditSection(auditGroup);
+
+        //
+        // Create the "Prepare configurations after startup" check box.
+        //
+        final Group checkerCacheGroup =
+            createGroup(Messages.CheckstylePreferencePage_lblCheckerCacheSettings);
+        mPrewarmCheckers = makeButton(checkerCacheGroup, SWT.CHECK,
+            Messages.CheckstylePreferencePage_txtPrewarmCheckers,
+            CheckstylePluginPrefs.getBoolean(CheckstylePluginPrefs.PREF_PREWARM_CHECKERS));
+
+        createCheckerCacheSection(checkerCacheGroup);
+    }
+
+    /**
+     * Creates a group of settings spanning the width of the page.
+     *
+     * @param title
+     *            the title of the group
+     * @return the group
+     */
+    private Group createGroup(String title) {
+        final Group group = new Group(this, SWT.NULL);
+        group.setText(title);
+        GridLayoutFactory.swtDefaults().applyTo(group);
+        GridDataFactory.fillDefaults().grab(true, false).applyTo(group);
+        return group;
+    }
+
+    /**
+     * Creates the parallel audit workers, concurrency and coalescing delay text fields.
+     *
+     * @param group
+     *            the parent group
+     */
+    private void createAuditSection(Group group) {
+        final Composite parallelismComposite = new Composite(group, SWT.NULL);
+        RowLayoutFactory.fillDefaults().center(true).applyTo(parallelismComposite);
+
+        final Label lblParallelism = new Label(parallelismComposite, SWT.NULL);
+        lblParallelism.setText(Messages.CheckstylePreferencePage_lblAuditParallelism);
+        lblParallelism.setToolTipText(Messages.CheckstylePreferencePage_txtAuditParallelismNote);
+        mTxtAuditParallelism = makeNumberField(parallelismComposite,
+            CheckstylePluginPrefs.PREF_AUDIT_PARALLELISM,
+            Messages.CheckstylePreferencePage_nameAuditParallelism, 1, COUNT_MAX);
+        mTxtAuditParallelism.getText()
+            .setToolTipText(Messages.CheckstylePreferencePage_txtAuditParallelismNote);
+
+        final Composite concurrencyComposite = new Composite(group, SWT.NULL);
+        RowLayoutFactory.fillDefaults().center(true).applyTo(concurrencyComposite);
+
+        new Label(concurrencyComposite, SWT.NULL)
+            .setText(Messages.CheckstylePreferencePage_lblAuditConcurrency);
+        mTxtAuditConcurrency = makeNumberField(concurrencyComposite,
+            CheckstylePluginPrefs.PREF_AUDIT_CONCURRENCY,
+            Messages.CheckstylePreferencePage_nameAuditConcurrency, 0, COUNT_MAX);
+
+        final Composite coalescingComposite = new Composite(group, SWT.NULL);
+        RowLayoutFactory.fillDefaults().center(true).applyTo(coalescingComposite);
+
+        new Label(coalescingComposite, SWT.NULL)
+            .setText(Messages.CheckstylePreferencePage_lblAuditCoalescingDelay);
+        mTxtAuditCoalescingDelay = makeNumberField(coalescingComposite,
+            CheckstylePluginPrefs.PREF_AUDIT_COALESCING_DELAY,
+            Messages.CheckstylePreferencePage_nameAuditCoalescingDelay, 0, AMOUNT_MAX);
+    }
+
+    /**
+     * Creates the checker cache size, expiry and pool size text fields.
+     *
+     * @param group
+     *            the parent group
+     */
+    private void createCheckerCacheSection(Group group) {
+        final Composite checkerCacheComposite = new Composite(group, SWT.NULL);
+        RowLayoutFactory.fillDefaults().center(true).applyTo(checkerCacheComposite);
+
+        new Label(checkerCacheComposite, SWT.NULL)
+            .setText(Messages.CheckstylePreferencePage_lblCheckerCacheSize);
+        mTxtCheckerCacheSize = makeNumberField(checkerCacheComposite,
+            CheckstylePluginPrefs.PREF_CHECKER_CACHE_SIZE,
+            Messages.CheckstylePreferencePage_nameCheckerCacheSize, 1, AMOUNT_MAX);
+        mTxtCheckerCacheSize.getText()
+            .setToolTipText(Messages.CheckstylePreferencePage_txtCheckerCacheSizeNote);
+        new Label(checkerCacheComposite, SWT.NULL)
+            .setText(Messages.CheckstylePreferencePage_lblCheckerCacheSizeUnit);
+        mTxtCheckerCacheExpiry = makeNumberField(checkerCacheComposite,
+            CheckstylePluginPrefs.PREF_CHECKER_CACHE_EXPIRY,
+            Messages.CheckstylePreferencePage_nameCheckerCacheExpiry, 0, AMOUNT_MAX);
+        new Label(checkerCacheComposite, SWT.NULL)
+            .setText(Messages.CheckstylePreferencePage_lblCheckerCacheExpiry);
+
+        final Button statisticsButton = new Button(checkerCacheComposite, SWT.PUSH);
+        statisticsButton.setText(Messages.CheckstylePreferencePage_btnCheckerCacheStatistics);
+        statisticsButton.addSelectionListener(SelectionListener.widgetSelectedAdapter(event -> {
+            CheckerFactory.logCacheStatistics();
+            MessageDialog.openInformation(getShell(),
+                Messages.CheckstylePreferencePage_titleCheckerCacheStatistics,
+                CheckerFactory.getCacheStatistics().format());
+        }));
+
+        final Composite checkerPoolComposite = new Composite(group, SWT.NULL);
+        RowLayoutFactory.fillDefaults().center(true).applyTo(checkerPoolComposite);
+
+        new Label(checkerPoolComposite, SWT.NULL)
+            .setText(Messages.CheckstylePreferencePage_lblCheckerPoolSize);
+        mTxtCheckerPoolSize = makeNumberField(checkerPoolComposite,
+            CheckstylePluginPrefs.PREF_CHECKER_POOL_SIZE,
+            Messages.CheckstylePreferencePage_nameCheckerPoolSize, 1, COUNT_MAX);
+    }
+
+    private NumberField makeNumberField(Composite parent, String preference, String name,
+        int min, int max) {
+        final Text text = new Text(parent, SWT.SINGLE | SWT.BORDER);
+        text.setTextLimit(Integer.toString(max).length());
+        SWTUtil.addOnlyDigitInputSupport(text);
+        text.setText(Integer.toString(CheckstylePluginPrefs.getInt(preference)));
+        text.addModifyListener(event -> mValidate.run());
+        return new NumberField(text, name, min, max);
     }
 
     private static Combo createRebuildSection(Group group, Runnable setRebuildAll) {
@@ -250,11 +405,113 @@ public final class CheckstylePreferencePageGeneralSettings extends Composite {
         return mLimitCheckstyleMarkers.getSelection();
     }
 
-    public String getTxtMarkerLimit() {
-        return mTxtMarkerLimit.getText();
+    public int getMarkerLimit() {
+        return mTxtMarkerLimit.getValue();
     }
 
     public boolean getBackgroundFullBuild() {
         return mBackgroundFullBuild.getSelection();
     }
+
+    public boolean getAuditResultCache() {
+        return mAuditResultCache.getSelection();
+    }
+
+    public boolean getPrewarmCheckers() {
+        return mPrewarmCheckers.getSelection();
+    }
+
+    public boolean getReconcileEditors() {
+        return mReconcileEditors.getSelection();
+    }
+
+    public int getAuditParallelism() {
+        return mTxtAuditParallelism.getValue();
+    }
+
+    public int getCheckerCacheSize() {
+        return mTxtCheckerCacheSize.getValue();
+    }
+
+    public int getCheckerCacheExpiry() {
+        return mTxtCheckerCacheExpiry.getValue();
+    }
+
+    public int getCheckerPoolSize() {
+        return mTxtCheckerPoolSize.getValue();
+    }
+
+    public int getAuditCoalescingDelay() {
+        return mTxtAuditCoalescingDelay.getValue();
+    }
+
+    public int getAuditConcurrency() {
+        return mTxtAuditConcurrency.getValue();
+    }
+
+    /**
+     * Validates the number fields. The values of the fields may only be read while they are valid.
+     *
+     * @return the error message of the first invalid field or <code>null</code> if all fields are
+     *         valid
+     */
+    public String validate() {
+        String errorMessage = null;
+        for (NumberField field : List.of(mTxtMarkerLimit, mTxtAuditParallelism,
+            mTxtAuditConcurrency, mTxtAuditCoalescingDelay, mTxtCheckerCacheSize,
+            mTxtCheckerCacheExpiry, mTxtCheckerPoolSize)) {
+            if (errorMessage == null) {
+                errorMessage = field.getErrorMessage();
+            }
+        }
+        return errorMessage;
+    }
+
+    /**
+     * A text field for a number within a range.
+     */
+    private static final class NumberField {
+
+        /** The text field. */
+        private final Text mText;
+        /** The name of the setting shown in error messages. */
+        private final String mName;
+        /** The minimum value. */
+        private final int mMinimum;
+        /** The maximum value. */
+        private final int mMaximum;
+
+        private NumberField(Text text, String name, int min, int max) {
+            mText = text;
+            mName = name;
+            mMinimum = min;
+            mMaximum = max;
+        }
+
+        private Text getText() {
+            return mText;
+        }
+
+        private String getErrorMessage() {
+            boolean valid = false;
+            try {
+                final int value = getValue();
+                valid = value >= mMinimum && value <= mMaximum;
+            } catch (NumberFormatException ex) {
+                // e.g. an empty field
+            }
+            String errorMessage = null;
+            if (!valid) {
+                errorMessage = NLS.bind(Messages.CheckstylePreferencePage_errorNumberRange,
+                    new Object[] {
+                        mName, mMinimum, mMaximum,
+                    });
+            }
+            return errorMessage;
+        }
+
+        private int getValue() {
+            return Integer.parseInt(mText.getText());
+        }
+    }
 }
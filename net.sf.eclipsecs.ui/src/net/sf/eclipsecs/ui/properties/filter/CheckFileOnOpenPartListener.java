@@ -33,7 +33,6 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
-import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.ui.IEditorReference;
 import org.eclipse.ui.IPartListener2;
 import org.eclipse.ui.IWorkbenchPartReference;
@@ -43,7 +42,7 @@ import org.eclipse.ui.part.FileEditorInput;
 import net.sf.eclipsecs.core.Messages;
 import net.sf.eclipsecs.core.builder.CheckstyleMarker;
 import net.sf.eclipsecs.core.jobs.AbstractCheckJob;
-import net.sf.eclipsecs.core.jobs.RunCheckstyleOnFilesJob;
+import net.sf.eclipsecs.core.jobs.RunCheckstyleOnFilesScheduler;
 import net.sf.eclipsecs.core.nature.CheckstyleNature;
 import net.sf.eclipsecs.core.projectconfig.IProjectConfiguration;
 import net.sf.eclipsecs.core.projectconfig.ProjectConfigurationFactory;
@@ -205,11 +204,6 @@ public class CheckFileOnOpenPartListener implements IPartListener2 {
             this.mParts = parts;
         }
 
-        @Override
-        public boolean contains(ISchedulingRule rule) {
-            return false;
-        }
-
         @Override
         public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
             final SubMonitor subMonitor = SubMonitor.convert(monitor, mParts.size());
@@ -229,8 +223,7 @@ public class CheckFileOnOpenPartListener implements IPartListener2 {
                 }
             }
 
-            final RunCheckstyleOnFilesJob job = new RunCheckstyleOnFilesJob(filesToCheck);
-            job.schedule();
+            RunCheckstyleOnFilesScheduler.schedule(filesToCheck);
 
             return Status.OK_STATUS;
         }
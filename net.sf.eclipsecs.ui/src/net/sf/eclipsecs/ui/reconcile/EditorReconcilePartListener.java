@@ -0,0 +1,130 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.ui.reconcile;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.source.IAnnotationModel;
+import org.eclipse.ui.IFileEditorInput;
+import org.eclipse.ui.IPartListener2;
+import org.eclipse.ui.IWorkbenchPartReference;
+import org.eclipse.ui.texteditor.IDocumentProvider;
+import org.eclipse.ui.texteditor.ITextEditor;
+
+import net.sf.eclipsecs.core.nature.CheckstyleNature;
+import net.sf.eclipsecs.core.util.CheckstyleLog;
+import net.sf.eclipsecs.ui.CheckstyleUIPluginPrefs;
+
+/**
+ * Part listener installing an {@link EditorReconciler} on the text editors of files in Checkstyle
+ * enabled projects, if checking the editor content while typing is enabled.
+ */
+public class EditorReconcilePartListener implements IPartListener2 {
+
+    /** The reconcilers of the editors. */
+    private final Map<IWorkbenchPartReference, EditorReconciler> mReconcilers = new HashMap<>();
+
+    @Override
+    public void partOpened(IWorkbenchPartReference partRef) {
+        install(partRef);
+    }
+
+    @Override
+    public void partClosed(IWorkbenchPartReference partRef) {
+        uninstall(partRef);
+    }
+
+    @Override
+    public void partVisible(IWorkbenchPartReference partRef) {
+        // restored editors get created once they become visible
+        install(partRef);
+    }
+
+    @Override
+    public void partInputChanged(IWorkbenchPartReference partRef) {
+        uninstall(partRef);
+        install(partRef);
+    }
+
+    @Override
+    public void partActivated(IWorkbenchPartReference partRef) {
+        // NOOP
+    }
+
+    @Override
+    public void partBroughtToTop(IWorkbenchPartReference partRef) {
+        // NOOP
+    }
+
+    @Override
+    public void partDeactivated(IWorkbenchPartReference partRef) {
+        // NOOP
+    }
+
+    @Override
+    public void partHidden(IWorkbenchPartReference partRef) {
+        // NOOP
+    }
+
+    private void install(IWorkbenchPartReference partRef) {
+        if (!mReconcilers.containsKey(partRef)
+            && CheckstyleUIPluginPrefs.getBoolean(CheckstyleUIPluginPrefs.PREF_RECONCILE_EDITORS)
+            && partRef.getPart(false) instanceof ITextEditor editor
+            && editor.getEditorInput() instanceof IFileEditorInput input
+            && isCheckstyleProject(input.getFile().getProject())) {
+
+            final IDocumentProvider provider = editor.getDocumentProvider();
+            final IDocument document = provider.getDocument(input);
+            final IAnnotationModel annotationModel = provider.getAnnotationModel(input);
+            if (document != null && annotationModel != null) {
+                final IFile file = input.getFile();
+                final EditorReconciler reconciler =
+                    new EditorReconciler(editor, file, document, annotationModel);
+                reconciler.install();
+                mReconcilers.put(partRef, reconciler);
+            }
+        }
+    }
+
+    private void uninstall(IWorkbenchPartReference partRef) {
+        final EditorReconciler reconciler = mReconcilers.remove(partRef);
+        if (reconciler != null) {
+            reconciler.dispose();
+        }
+    }
+
+    private static boolean isCheckstyleProject(IProject project) {
+        boolean checkstyleProject = false;
+        try {
+            checkstyleProject =
+                project.isAccessible() && project.hasNature(CheckstyleNature.NATURE_ID);
+        }
+        catch (CoreException ex) {
+            CheckstyleLog.log(ex);
+        }
+        return checkstyleProject;
+    }
+}
@@ -0,0 +1,218 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.ui.reconcile;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobFunction;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.IAnnotationModel;
+import org.eclipse.jface.text.source.IAnnotationModelExtension;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IPropertyListener;
+import org.eclipse.ui.texteditor.ITextEditor;
+
+import net.sf.eclipsecs.core.builder.ContentAuditor;
+import net.sf.eclipsecs.core.util.CheckstyleLog;
+import net.sf.eclipsecs.core.util.CheckstylePluginException;
+import net.sf.eclipsecs.ui.CheckstyleUIPluginPrefs;
+import net.sf.eclipsecs.ui.Messages;
+
+/**
+ * Audits the unsaved content of a text editor while it is edited. Once the edits paused for the
+ * configured delay the document content is audited and the violations are shown as annotations,
+ * which are removed again when the editor is saved and the build updates the markers.
+ */
+final class EditorReconciler implements IDocumentListener, IPropertyListener {
+
+    /** The annotation types per marker severity. */
+    private static final String[] ANNOTATION_TYPES = {
+        "net.sf.eclipsecs.info", "net.sf.eclipsecs.warning", "net.sf.eclipsecs.error",
+    };
+
+    /** The reconciled editor. */
+    private final ITextEditor mEditor;
+
+    /** The file being edited. */
+    private final IFile mFile;
+
+    /** The document of the editor. */
+    private final IDocument mDocument;
+
+    /** The annotation model of the editor. */
+    private final IAnnotationModel mAnnotationModel;
+
+    /** The job auditing the document content. */
+    private final Job mReconcileJob;
+
+    /** Counts the changes of the document and the editor state, outdating running audits. */
+    private final AtomicLong mGeneration = new AtomicLong();
+
+    /** The annotations currently shown. */
+    private Annotation[] mAnnotations = new Annotation[0];
+
+    /**
+     * Creates the reconciler.
+     *
+     * @param editor
+     *            the editor
+     * @param file
+     *            the file being edited
+     * @param document
+     *            the document of the editor
+     * @param annotationModel
+     *            the annotation model of the editor
+     */
+    EditorReconciler(ITextEditor editor, IFile file, IDocument document,
+        IAnnotationModel annotationModel) {
+        mEditor = editor;
+        mFile = file;
+        mDocument = document;
+        mAnnotationModel = annotationModel;
+        mReconcileJob = Job.create(NLS.bind(Messages.EditorReconciler_jobName, file.getName()),
+            (IJobFunction) this::reconcile);
+        mReconcileJob.setSystem(true);
+    }
+
+    /**
+     * Starts listening to the editor.
+     */
+    void install() {
+        mDocument.addDocumentListener(this);
+        mEditor.addPropertyListener(this);
+    }
+
+    /**
+     * Stops listening to the editor and removes the annotations.
+     */
+    void dispose() {
+        mDocument.removeDocumentListener(this);
+        mEditor.removePropertyListener(this);
+        clearAnnotations();
+    }
+
+    @Override
+    public void documentAboutToBeChanged(DocumentEvent event) {
+        // NOOP
+    }
+
+    @Override
+    public void documentChanged(DocumentEvent event) {
+        mGeneration.incrementAndGet();
+        mReconcileJob.cancel();
+        mReconcileJob
+            .schedule(CheckstyleUIPluginPrefs.getInt(CheckstyleUIPluginPrefs.PREF_RECONCILE_DELAY));
+    }
+
+    @Override
+    public void propertyChanged(Object source, int propId) {
+        // once saved the markers of the build take over
+        if (propId == IEditorPart.PROP_DIRTY && !mEditor.isDirty()) {
+            clearAnnotations();
+        }
+    }
+
+    private void clearAnnotations() {
+        mGeneration.incrementAndGet();
+        mReconcileJob.cancel();
+        updateAnnotations(Map.of());
+    }
+
+    private IStatus reconcile(IProgressMonitor monitor) {
+        final long generation = mGeneration.get();
+        final String content = mDocument.get();
+        try {
+            final List<Map<String, Object>> violations =
+                ContentAuditor.audit(mFile, content, monitor);
+
+            // discard the results if the document changed in the meantime
+            if (!monitor.isCanceled() && generation == mGeneration.get()) {
+                updateAnnotations(createAnnotations(violations));
+            }
+        }
+        catch (CheckstylePluginException ex) {
+            CheckstyleLog.log(ex);
+        }
+        return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+    }
+
+    private Map<Annotation, Position> createAnnotations(List<Map<String, Object>> violations) {
+        final Map<Annotation, Position> annotations = new HashMap<>();
+        for (Map<String, Object> violation : violations) {
+            final Position position = getPosition(violation);
+            if (position != null) {
+                final int severity = (Integer) violation.get(IMarker.SEVERITY);
+                final Annotation annotation = new Annotation(ANNOTATION_TYPES[severity], false,
+                    (String) violation.get(IMarker.MESSAGE));
+                annotations.put(annotation, position);
+            }
+        }
+        return annotations;
+    }
+
+    private Position getPosition(Map<String, Object> violation) {
+        Position position = null;
+        if (violation.get(IMarker.CHAR_START) instanceof Integer start
+            && violation.get(IMarker.CHAR_END) instanceof Integer end) {
+            position = new Position(start, end - start);
+        }
+        else {
+            // annotate the whole line, or the first line for violations without a line
+            final int line = Math.max(0, (Integer) violation.get(IMarker.LINE_NUMBER) - 1);
+            try {
+                position =
+                    new Position(mDocument.getLineOffset(line), mDocument.getLineLength(line));
+            }
+            catch (BadLocationException ex) {
+                // the line is gone, skip the violation
+            }
+        }
+        return position;
+    }
+
+    private synchronized void updateAnnotations(Map<Annotation, Position> annotations) {
+        if (mAnnotationModel instanceof IAnnotationModelExtension extension) {
+            extension.replaceAnnotations(mAnnotations, annotations);
+        }
+        else {
+            for (Annotation annotation : mAnnotations) {
+                mAnnotationModel.removeAnnotation(annotation);
+            }
+            annotations.forEach(mAnnotationModel::addAnnotation);
+        }
+        mAnnotations = annotations.keySet().toArray(new Annotation[0]);
+    }
+}
@@ -56,6 +56,34 @@ public final class Messages extends NLS {
 
     public static String MarkerStatsView_unknownProblem;
 
+    public static String PerformanceView_actionEnable;
+
+    public static String PerformanceView_actionEnableTooltip;
+
+    public static String PerformanceView_actionExport;
+
+    public static String PerformanceView_actionExportTooltip;
+
+    public static String PerformanceView_actionReset;
+
+    public static String PerformanceView_actionResetTooltip;
+
+    public static String PerformanceView_averageTimeColumn;
+
+    public static String PerformanceView_chooseFileToExport;
+
+    public static String PerformanceView_exportFailed;
+
+    public static String PerformanceView_invocationsColumn;
+
+    public static String PerformanceView_moduleColumn;
+
+    public static String PerformanceView_slowestFileColumn;
+
+    public static String PerformanceView_slowestTimeColumn;
+
+    public static String PerformanceView_totalTimeColumn;
+
     public static String MarkerStatsView_kindOfErrorColumn;
 
     public static String MarkerStatsView_numberOfErrorsColumn;
@@ -0,0 +1,244 @@
+//============================================================================
+//
+// Copyright (C) 2003-2023 the original author or authors.
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public
+// License along with this library; if not, write to the Free Software
+// Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+//
+//============================================================================
+
+package net.sf.eclipsecs.ui.stats.views;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.action.IAction;
+import org.eclipse.jface.action.IToolBarManager;
+import org.eclipse.jface.dialogs.IDialogSettings;
+import org.eclipse.jface.layout.TableColumnLayout;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ColumnLabelProvider;
+import org.eclipse.jface.viewers.ColumnWeightData;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.TableViewerColumn;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.ui.ISharedImages;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.part.ViewPart;
+
+import net.sf.eclipsecs.core.builder.ModuleTimings;
+import net.sf.eclipsecs.core.builder.ModuleTimings.Timing;
+import net.sf.eclipsecs.core.util.CheckstylePluginException;
+import net.sf.eclipsecs.ui.CheckstyleUIPlugin;
+import net.sf.eclipsecs.ui.stats.Messages;
+import net.sf.eclipsecs.ui.util.table.TableViewerEnhancer;
+
+/**
+ * View that displays the time spent in the Checkstyle modules during audits.
+ */
+public class PerformanceView extends ViewPart {
+
+    /** The unique view id. */
+    public static final String VIEW_ID = PerformanceView.class.getName();
+
+    /** The relative width of the module column. */
+    private static final int MODULE_COLUMN_WEIGHT = 3;
+
+    /** The relative width of the slowest file column. */
+    private static final int FILE_COLUMN_WEIGHT = 4;
+
+    /** The table viewer. */
+    private TableViewer mViewer;
+
+    /** The listener refreshing the view after builds. */
+    private IResourceChangeListener mBuildListener;
+
+    @Override
+    public void createPartControl(Composite parent) {
+        final Composite tableComposite = new Composite(parent, SWT.NONE);
+        final TableColumnLayout tableColumnLayout = new TableColumnLayout();
+        tableComposite.setLayout(tableColumnLayout);
+
+        mViewer = new TableViewer(tableComposite,
+            SWT.H_SCROLL | SWT.V_SCROLL | SWT.SINGLE | SWT.FULL_SELECTION);
+        final Table table = mViewer.getTable();
+        table.setLinesVisible(true);
+        table.setHeaderVisible(true);
+
+        createColumns(tableColumnLayout);
+        mViewer.setContentProvider(ArrayContentProvider.getInstance());
+        TableViewerEnhancer.enhance(mViewer, getDialogSettings(), tableColumnLayout);
+
+        // refresh the timings after each build
+        mBuildListener = event -> {
+            if (!table.isDisposed()) {
+                table.getDisplay().asyncExec(this::refresh);
+            }
+        };
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(mBuildListener,
+            IResourceChangeEvent.POST_BUILD);
+
+        initToolBar(getViewSite().getActionBars().getToolBarManager());
+        refresh();
+    }
+
+    @Override
+    public void setFocus() {
+        mViewer.getControl().setFocus();
+    }
+
+    @Override
+    public void dispose() {
+        ResourcesPlugin.getWorkspace().removeResourceChangeListener(mBuildListener);
+        super.dispose();
+    }
+
+    private void createColumns(TableColumnLayout tableColumnLayout) {
+        createColumn(tableColumnLayout, Messages.PerformanceView_moduleColumn, SWT.LEFT,
+            MODULE_COLUMN_WEIGHT, Timing::moduleName, Comparator.comparing(Timing::moduleName));
+        createColumn(tableColumnLayout, Messages.PerformanceView_totalTimeColumn, SWT.RIGHT, 1,
+            timing -> formatMillis(timing.totalNanos()),
+            Comparator.comparingLong(Timing::totalNanos));
+        createColumn(tableColumnLayout, Messages.PerformanceView_invocationsColumn, SWT.RIGHT, 1,
+            timing -> Long.toString(timing.invocations()),
+            Comparator.comparingLong(Timing::invocations));
+        createColumn(tableColumnLayout, Messages.PerformanceView_averageTimeColumn, SWT.RIGHT, 1,
+            timing -> formatMillis(getAverageNanos(timing)),
+            Comparator.comparingLong(PerformanceView::getAverageNanos));
+        createColumn(tableColumnLayout, Messages.PerformanceView_slowestTimeColumn, SWT.RIGHT, 1,
+            timing -> formatMillis(timing.slowestNanos()),
+            Comparator.comparingLong(Timing::slowestNanos));
+        createColumn(tableColumnLayout, Messages.PerformanceView_slowestFileColumn, SWT.LEFT,
+            FILE_COLUMN_WEIGHT,
+            timing -> timing.slowestFile() != null ? timing.slowestFile() : "",
+            Comparator.comparing(timing -> String.valueOf(timing.slowestFile())));
+    }
+
+    private void createColumn(TableColumnLayout tableColumnLayout, String text, int style,
+        int weight, Function<Timing, String> label, Comparator<Timing> comparator) {
+        final TableViewerColumn column = new TableViewerColumn(mViewer, style);
+        column.getColumn().setText(text);
+        column.setLabelProvider(
+            ColumnLabelProvider.createTextProvider(element -> label.apply((Timing) element)));
+        tableColumnLayout.setColumnData(column.getColumn(), new ColumnWeightData(weight));
+        TableViewerEnhancer.setColumnComparator(column.getColumn(), comparator);
+    }
+
+    private void initToolBar(IToolBarManager tbm) {
+        final IAction enableAction = new Action(Messages.PerformanceView_actionEnable,
+            IAction.AS_CHECK_BOX) {
+            @Override
+            public void run() {
+                try {
+                    ModuleTimings.setEnabled(isChecked());
+                }
+                catch (CheckstylePluginException ex) {
+                    CheckstyleUIPlugin.errorDialog(getSite().getShell(), ex, true);
+                }
+            }
+        };
+        enableAction.setToolTipText(Messages.PerformanceView_actionEnableTooltip);
+        enableAction.setChecked(ModuleTimings.isEnabled());
+
+        final IAction resetAction = new Action(Messages.PerformanceView_actionReset) {
+            @Override
+            public void run() {
+                ModuleTimings.reset();
+                refresh();
+            }
+        };
+        resetAction.setToolTipText(Messages.PerformanceView_actionResetTooltip);
+        resetAction.setImageDescriptor(PlatformUI.getWorkbench().getSharedImages()
+            .getImageDescriptor(ISharedImages.IMG_ETOOL_CLEAR));
+
+        final IAction exportAction = new Action(Messages.PerformanceView_actionExport) {
+            @Override
+            public void run() {
+                exportTimings();
+            }
+        };
+        exportAction.setToolTipText(Messages.PerformanceView_actionExportTooltip);
+        exportAction.setImageDescriptor(PlatformUI.getWorkbench().getSharedImages()
+            .getImageDescriptor(ISharedImages.IMG_ETOOL_SAVEAS_EDIT));
+
+        tbm.add(enableAction);
+        tbm.add(resetAction);
+        tbm.add(exportAction);
+    }
+
+    /**
+     * Exports the collected timings as JSON file.
+     */
+    private void exportTimings() {
+        final FileDialog dialog = new FileDialog(getSite().getShell(), SWT.SAVE);
+        dialog.setText(Messages.PerformanceView_chooseFileToExport);
+        dialog.setFilterExtensions(new String[] {"*.json"});
+        dialog.setOverwrite(true);
+        final String path = dialog.open();
+        if (path != null) {
+            try {
+                Files.writeString(Path.of(path), ModuleTimings.toJson(), StandardCharsets.UTF_8);
+            }
+            catch (IOException ex) {
+                CheckstyleUIPlugin.errorDialog(getSite().getShell(),
+                    Messages.PerformanceView_exportFailed, ex, true);
+            }
+        }
+    }
+
+    private void refresh() {
+        if (!mViewer.getControl().isDisposed()) {
+            final List<Timing> timings = ModuleTimings.getTimings();
+            mViewer.setInput(timings);
+        }
+    }
+
+    /**
+     * Returns the dialog settings for this view.
+     *
+     * @return the dialog settings
+     */
+    private static IDialogSettings getDialogSettings() {
+        final IDialogSettings workbenchSettings =
+            CheckstyleUIPlugin.getDefault().getDialogSettings();
+        IDialogSettings settings = workbenchSettings.getSection(VIEW_ID);
+
+        if (settings == null) {
+            settings = workbenchSettings.addNewSection(VIEW_ID);
+        }
+
+        return settings;
+    }
+
+    private static long getAverageNanos(Timing timing) {
+        return timing.invocations() > 0 ? timing.totalNanos() / timing.invocations() : 0;
+    }
+
+    private static String formatMillis(long nanos) {
+        return Long.toString(TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+}